@@ -24,7 +24,7 @@ import {
   SelectChangeEvent
 } from '@mui/material';
 import { Material, getAllMaterials, getMaterialById } from '../../services/materialService';
-import { MathModel, ResultModel, runSimulation } from '../../services/simulationService';
+import { MathModel, ResultModel, runMaterialSimulation, runSimulation } from '../../services/simulationService';
 import { Line } from 'react-chartjs-2';
 import {
   Chart as ChartJS,
@@ -92,6 +92,38 @@ interface FieldErrors {
   [key: string]: string;
 }
 
+// Поля модели, которые заполняются из свойств и коэффициентов материала (совпадают с их кодами)
+const MATERIAL_FIELDS = [
+  'density', 'heatCapacity', 'glassTransitionTemp', 'meltingTemp',
+  'mu0', 'firstConstantVLF', 'secondConstantVLF', 'castingTemp', 'flowIndex', 'heatTransfer'
+] as const;
+
+type MaterialField = typeof MATERIAL_FIELDS[number];
+
+const isMaterialField = (name: string): name is MaterialField =>
+  (MATERIAL_FIELDS as readonly string[]).includes(name);
+
+// Подставляет в модель значения материала по кодам свойств и коэффициентов
+const applyMaterialValues = (baseModel: MathModel, material: Material): MathModel => {
+  const newModel = { ...baseModel };
+  MATERIAL_FIELDS.forEach(field => {
+    newModel[field] = '';
+  });
+
+  const applyValue = (code: string | undefined, value: number) => {
+    const numValue = Number(value);
+    // Пропускаем значения без кода, не числовые или равные нулю
+    if (!code || !isMaterialField(code) || isNaN(numValue) || numValue === 0) {
+      return;
+    }
+    newModel[code] = value;
+  };
+
+  material.propertyValues?.forEach(pv => applyValue(pv.property.code, pv.propertyValue));
+  material.coefficientValues?.forEach(cv => applyValue(cv.coefficient.code, cv.coefficientValue));
+  return newModel;
+};
+
 const SimulationPage: React.FC = () => {
   const [materials, setMaterials] = useState<Material[]>([]);
   const [selectedMaterial, setSelectedMaterial] = useState<Material | null>(null);
@@ -103,6 +135,8 @@ const SimulationPage: React.FC = () => {
     memoryUsage: number;
   }>({ renderTime: 0, memoryUsage: 0 });
   const [fieldErrors, setFieldErrors] = useState<FieldErrors>({});
+  // Значения материала изменены вручную: расчет по параметрам из формы, а не по материалу на сервере
+  const [materialEdited, setMaterialEdited] = useState<boolean>(false);
   
   // Параметры модели расчетов
   const [model, setModel] = useState<MathModel>({
@@ -137,75 +171,8 @@ const SimulationPage: React.FC = () => {
         if (polycarbonate) {
           const material = await getMaterialById(polycarbonate.id);
           setSelectedMaterial(material);
-          
-          // Создаем новую модель на основе текущей
-          const newModel = { ...model };
-          
-          // Сначала сбрасываем значения свойств материала на пустые строки
-          newModel.density = '';
-          newModel.heatCapacity = '';
-          newModel.glassTransitionTemp = '';
-          newModel.meltingTemp = '';
-          
-          // Сбрасываем коэффициенты на пустые строки
-          newModel.mu0 = '';
-          newModel.firstConstantVLF = '';
-          newModel.secondConstantVLF = '';
-          newModel.castingTemp = '';
-          newModel.flowIndex = '';
-          newModel.heatTransfer = '';
-          
-          // Применяем свойства материала
-          if (material.propertyValues && material.propertyValues.length > 0) {
-            material.propertyValues.forEach(pv => {
-              const propName = pv.property.propertyName.toLowerCase();
-              
-              // Проверяем, что значение не пустое и не равно нулю прежде чем назначить
-              const propertyValue = Number(pv.propertyValue);
-              if (isNaN(propertyValue) || propertyValue === 0) {
-                return; // Пропускаем свойство, если оно не числовое или равно нулю
-              }
-              
-              if (propName.includes('плотность')) {
-                newModel.density = pv.propertyValue;
-              } else if (propName.includes('теплоемкость')) {
-                newModel.heatCapacity = pv.propertyValue;
-              } else if (propName.includes('стеклования')) {
-                newModel.glassTransitionTemp = pv.propertyValue;
-              } else if (propName.includes('плавления')) {
-                newModel.meltingTemp = pv.propertyValue;
-              }
-            });
-          }
-
-          // Применяем коэффициенты материала
-          if (material.coefficientValues && material.coefficientValues.length > 0) {
-            material.coefficientValues.forEach(cv => {
-              const coefName = cv.coefficient.coefficientName.toLowerCase();
-              
-              // Проверяем, что значение не пустое и не равно нулю прежде чем назначить
-              const coefficientValue = Number(cv.coefficientValue);
-              if (isNaN(coefficientValue) || coefficientValue === 0) {
-                return; // Пропускаем коэффициент, если он не числовой или равен нулю
-              }
-              
-              if (coefName.includes('консистенции')) {
-                newModel.mu0 = cv.coefficientValue;
-              } else if (coefName.includes('первая') && coefName.includes('влф')) {
-                newModel.firstConstantVLF = cv.coefficientValue;
-              } else if (coefName.includes('вторая') && coefName.includes('влф')) {
-                newModel.secondConstantVLF = cv.coefficientValue;
-              } else if (coefName.includes('течения')) {
-                newModel.flowIndex = cv.coefficientValue;
-              } else if (coefName.includes('теплоотдачи')) {
-                newModel.heatTransfer = cv.coefficientValue;
-              } else if (coefName.includes('приведения')) {
-                newModel.castingTemp = cv.coefficientValue;
-              }
-            });
-          }
-
-          setModel(newModel);
+          setModel(applyMaterialValues(model, material));
+          setMaterialEdited(false);
         }
       } catch (err) {
         console.error('Ошибка при загрузке материалов:', err);
@@ -219,6 +186,9 @@ const SimulationPage: React.FC = () => {
   // Обработчик изменения полей ввода
   const handleInputChange = (event: React.ChangeEvent<HTMLInputElement>) => {
     const { name, value } = event.target;
+    if (isMaterialField(name)) {
+      setMaterialEdited(true);
+    }
     
     // Функция для обновления ошибок полей
     const updateFieldError = (fieldName: string, errorMessage: string | null) => {
@@ -415,7 +385,17 @@ const SimulationPage: React.FC = () => {
         heatTransfer: Number(String(model.heatTransfer).replace(',', '.'))
       };
 
-      const simulationResult = await runSimulation(normalizedModel);
+      // Для неизмененного материала свойства и коэффициенты подставляет сервер по ID материала
+      const simulationResult = selectedMaterial && !materialEdited
+        ? await runMaterialSimulation(selectedMaterial.id, {
+            width: normalizedModel.width,
+            depth: normalizedModel.depth,
+            length: normalizedModel.length,
+            coverSpeed: normalizedModel.coverSpeed,
+            coverTemp: normalizedModel.coverTemp,
+            step: normalizedModel.step
+          })
+        : await runSimulation(normalizedModel);
       setResult(simulationResult);
     } catch (err) {
       console.error('Ошибка при выполнении моделирования:', err);
@@ -497,7 +477,7 @@ const SimulationPage: React.FC = () => {
       { 'Показатель': '', 'Значение': '' },
       { 'Показатель': 'Показатели экономичности', 'Значение': '' },
       { 'Показатель': 'Общее время расчета (мс)', 'Значение': totalPerformance.totalTime.toFixed(2) },
-      { 'Показатель': 'Время расчета на сервере (мс)', 'Значение': result.calculationTime },
+      { 'Показатель': 'Время расчета на сервере (мс)', 'Значение': result.calculationTime.toFixed(3) },
       { 'Показатель': 'Время визуализации на клиенте (мс)', 'Значение': Number(clientPerformance.renderTime.toFixed(2)) },
       { 'Показатель': '', 'Значение': '' },
       { 'Показатель': 'Общая память (МБ)', 'Значение': formatMemoryToMB(totalPerformance.totalMemory) },
@@ -527,63 +507,8 @@ const SimulationPage: React.FC = () => {
 
       const material = await getMaterialById(materialId);
       setSelectedMaterial(material);
-      
-      // Создаем новую модель на основе текущей
-      const newModel = { ...model };
-      
-      // Сначала сбрасываем значения свойств материала на пустые строки
-      newModel.density = '';
-      newModel.heatCapacity = '';
-      newModel.glassTransitionTemp = '';
-      newModel.meltingTemp = '';
-      
-      // Сбрасываем коэффициенты на пустые строки
-      newModel.mu0 = '';
-      newModel.firstConstantVLF = '';
-      newModel.secondConstantVLF = '';
-      newModel.castingTemp = '';
-      newModel.flowIndex = '';
-      newModel.heatTransfer = '';
-      
-      // Применяем свойства материала
-      if (material.propertyValues && material.propertyValues.length > 0) {
-        material.propertyValues.forEach(pv => {
-          const propName = pv.property.propertyName.toLowerCase();
-          
-          if (propName.includes('плотность')) {
-            newModel.density = pv.propertyValue;
-          } else if (propName.includes('теплоемкость')) {
-            newModel.heatCapacity = pv.propertyValue;
-          } else if (propName.includes('стеклования')) {
-            newModel.glassTransitionTemp = pv.propertyValue;
-          } else if (propName.includes('плавления')) {
-            newModel.meltingTemp = pv.propertyValue;
-          }
-        });
-      }
-
-      // Применяем коэффициенты материала
-      if (material.coefficientValues && material.coefficientValues.length > 0) {
-        material.coefficientValues.forEach(cv => {
-          const coefName = cv.coefficient.coefficientName.toLowerCase();
-          
-          if (coefName.includes('консистенции')) {
-            newModel.mu0 = cv.coefficientValue;
-          } else if (coefName.includes('первая') && coefName.includes('влф')) {
-            newModel.firstConstantVLF = cv.coefficientValue;
-          } else if (coefName.includes('вторая') && coefName.includes('влф')) {
-            newModel.secondConstantVLF = cv.coefficientValue;
-          } else if (coefName.includes('течения')) {
-            newModel.flowIndex = cv.coefficientValue;
-          } else if (coefName.includes('теплоотдачи')) {
-            newModel.heatTransfer = cv.coefficientValue;
-          } else if (coefName.includes('приведения')) {
-            newModel.castingTemp = cv.coefficientValue;
-          }
-        });
-      }
-
-      setModel(newModel);
+      setModel(applyMaterialValues(model, material));
+      setMaterialEdited(false);
     } catch (err) {
       console.error('Ошибка при загрузке материала:', err);
       setError('Ошибка при загрузке материала');
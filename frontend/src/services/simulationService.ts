@@ -60,4 +60,30 @@ export const runSimulation = async (model: MathModel): Promise<ResultModel> => {
     console.error('Ошибка при выполнении моделирования:', error);
     throw error;
   }
-}; 
\ No newline at end of file
+}; 
+
+// Геометрия и режим процесса; свойства материала подставляются на сервере
+export interface MaterialSimulationRequest {
+  width: number;                  // Ширина канала (W), м
+  depth: number;                  // Глубина канала (H), м
+  length: number;                 // Длина канала (L), м
+  coverSpeed: number;             // Скорость крышки (Vu), м/с
+  coverTemp: number;              // Температура крышки (Tu), °C
+  step: number;                   // Шаг расчета (Δz), м
+}
+
+export const runMaterialSimulation = async (
+  materialId: string,
+  request: MaterialSimulationRequest
+): Promise<ResultModel> => {
+  try {
+    const response = await simulationApi.post<ResultModel>(
+      getApiUrl(`/math/simulation/material/${materialId}`),
+      request
+    );
+    return response.data;
+  } catch (error) {
+    console.error('Ошибка при выполнении моделирования материала:', error);
+    throw error;
+  }
+};
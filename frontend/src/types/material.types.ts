@@ -11,6 +11,7 @@ export interface MaterialProperty {
   propertyName: string;
   unitOfMeasurement: string;
   description?: string;
+  code?: string;            // Стабильный код для расчета (имя поля MathModel)
 }
 
 export interface EmpiricalCoefficient {
@@ -18,6 +19,7 @@ export interface EmpiricalCoefficient {
   coefficientName: string;
   unitOfMeasurement: string;
   description?: string;
+  code?: string;            // Стабильный код для расчета (имя поля MathModel)
 }
 
 export interface MaterialPropertyValueId {
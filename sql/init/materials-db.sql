@@ -12,14 +12,16 @@ material_type VARCHAR(50) NOT NULL
 CREATE TABLE material_properties (
 ID_property UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
 property_name VARCHAR(50) NOT NULL,
-unit_of_measurement VARCHAR(10) NOT NULL
+unit_of_measurement VARCHAR(10) NOT NULL,
+code VARCHAR(50) UNIQUE
 );
 
 -- Таблица эмпирических коэффициентов
 CREATE TABLE empirical_coefficients (
 ID_coefficient UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
 coefficient_name VARCHAR(50) NOT NULL,
-unit_of_measurement VARCHAR(10) NOT NULL
+unit_of_measurement VARCHAR(10) NOT NULL,
+code VARCHAR(50) UNIQUE
 );
 
 -- Таблица значений свойств материалов (связь многие-ко-многим)
@@ -52,19 +54,20 @@ INSERT INTO materials (ID_material, name, material_type) VALUES
 ('a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11', 'Поликарбонат', '23ERT78'),
 ('b0eebc99-9c0b-4ef8-bb6d-6bb9bd380a12', 'Полипропилен', 'HFRT56');
 
-INSERT INTO material_properties (ID_property, property_name, unit_of_measurement) VALUES
-('a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a14', 'Плотность', 'кг/м³'),
-('b0eebc99-9c0b-4ef8-bb6d-6bb9bd380a15', 'Удельная теплоемкость', 'Дж/(кг·°С)'),
-('c0eebc99-9c0b-4ef8-bb6d-6bb9bd380a16', 'Температура стеклования', '°С'),
-('d0eebc99-9c0b-4ef8-bb6d-6bb9bd380a17', 'Температура плавления', '°С');
-
-INSERT INTO empirical_coefficients (ID_coefficient, coefficient_name, unit_of_measurement) VALUES
-('10eebc99-9c0b-4ef8-bb6d-6bb9bd380a14', 'Коэффициент консистенции ', 'Па·сn'),
-('20eebc99-9c0b-4ef8-bb6d-6bb9bd380a15', 'Первая константа ВЛФ ', '-'),
-('30eebc99-9c0b-4ef8-bb6d-6bb9bd380a16', 'Вторая константа уравнения ВЛФ ', '°С'),
-('40eebc99-9c0b-4ef8-bb6d-6bb9bd380a17', 'Температура приведения', '°С'),
-('50eebc99-9c0b-4ef8-bb6d-6bb9bd380a18', 'Индекс течения', '-'),
-('60eebc99-9c0b-4ef8-bb6d-6bb9bd380a19', 'Коэффициент теплоотдачи ', 'Вт/(м2·°С)');
+-- Код свойства (code) совпадает с именем поля модели расчета и не зависит от названия
+INSERT INTO material_properties (ID_property, property_name, unit_of_measurement, code) VALUES
+('a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a14', 'Плотность', 'кг/м³', 'density'),
+('b0eebc99-9c0b-4ef8-bb6d-6bb9bd380a15', 'Удельная теплоемкость', 'Дж/(кг·°С)', 'heatCapacity'),
+('c0eebc99-9c0b-4ef8-bb6d-6bb9bd380a16', 'Температура стеклования', '°С', 'glassTransitionTemp'),
+('d0eebc99-9c0b-4ef8-bb6d-6bb9bd380a17', 'Температура плавления', '°С', 'meltingTemp');
+
+INSERT INTO empirical_coefficients (ID_coefficient, coefficient_name, unit_of_measurement, code) VALUES
+('10eebc99-9c0b-4ef8-bb6d-6bb9bd380a14', 'Коэффициент консистенции ', 'Па·сn', 'mu0'),
+('20eebc99-9c0b-4ef8-bb6d-6bb9bd380a15', 'Первая константа ВЛФ ', '-', 'firstConstantVLF'),
+('30eebc99-9c0b-4ef8-bb6d-6bb9bd380a16', 'Вторая константа уравнения ВЛФ ', '°С', 'secondConstantVLF'),
+('40eebc99-9c0b-4ef8-bb6d-6bb9bd380a17', 'Температура приведения', '°С', 'castingTemp'),
+('50eebc99-9c0b-4ef8-bb6d-6bb9bd380a18', 'Индекс течения', '-', 'flowIndex'),
+('60eebc99-9c0b-4ef8-bb6d-6bb9bd380a19', 'Коэффициент теплоотдачи ', 'Вт/(м2·°С)', 'heatTransfer');
 
 INSERT INTO material_property (ID_material, ID_property, property_value) VALUES
 ('a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11', 'a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a14', 1200.0),
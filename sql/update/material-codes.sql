@@ -0,0 +1,16 @@
+-- Стабильные коды свойств и коэффициентов для существующей базы материалов (materials-db).
+-- Код совпадает с именем поля модели расчета; расчет по материалу ищет значения только по коду.
+ALTER TABLE material_properties ADD COLUMN IF NOT EXISTS code VARCHAR(50) UNIQUE;
+ALTER TABLE empirical_coefficients ADD COLUMN IF NOT EXISTS code VARCHAR(50) UNIQUE;
+
+UPDATE material_properties SET code = 'density' WHERE ID_property = 'a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a14';
+UPDATE material_properties SET code = 'heatCapacity' WHERE ID_property = 'b0eebc99-9c0b-4ef8-bb6d-6bb9bd380a15';
+UPDATE material_properties SET code = 'glassTransitionTemp' WHERE ID_property = 'c0eebc99-9c0b-4ef8-bb6d-6bb9bd380a16';
+UPDATE material_properties SET code = 'meltingTemp' WHERE ID_property = 'd0eebc99-9c0b-4ef8-bb6d-6bb9bd380a17';
+
+UPDATE empirical_coefficients SET code = 'mu0' WHERE ID_coefficient = '10eebc99-9c0b-4ef8-bb6d-6bb9bd380a14';
+UPDATE empirical_coefficients SET code = 'firstConstantVLF' WHERE ID_coefficient = '20eebc99-9c0b-4ef8-bb6d-6bb9bd380a15';
+UPDATE empirical_coefficients SET code = 'secondConstantVLF' WHERE ID_coefficient = '30eebc99-9c0b-4ef8-bb6d-6bb9bd380a16';
+UPDATE empirical_coefficients SET code = 'castingTemp' WHERE ID_coefficient = '40eebc99-9c0b-4ef8-bb6d-6bb9bd380a17';
+UPDATE empirical_coefficients SET code = 'flowIndex' WHERE ID_coefficient = '50eebc99-9c0b-4ef8-bb6d-6bb9bd380a18';
+UPDATE empirical_coefficients SET code = 'heatTransfer' WHERE ID_coefficient = '60eebc99-9c0b-4ef8-bb6d-6bb9bd380a19';
@@ -0,0 +1,61 @@
+package com.example.nonisothermicalflow.math.benchmark;
+
+import com.example.nonisothermicalflow.math.engine.InstrumentedSimulationKernel;
+import com.example.nonisothermicalflow.math.engine.ScalarSimulationKernel;
+import com.example.nonisothermicalflow.math.engine.SimulationKernel;
+import com.example.nonisothermicalflow.math.engine.SimulationPlan;
+import com.example.nonisothermicalflow.math.engine.VectorSimulationKernel;
+import com.example.nonisothermicalflow.math.model.KernelType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость одной точки профиля в ядре расчета без компиляции плана и выделения памяти:
+ * ядро пишет порцию точек в заранее выделенные буферы. Результат — наносекунды на точку.
+ * Параметр instrumented показывает цену подсчета операций по сравнению с рабочим ядром.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class KernelBenchmark {
+
+    private static final int CHUNK_POINTS = 65536;
+
+    @Param({"POLYCARBONATE", "POLYPROPYLENE"})
+    private MaterialFixture material;
+
+    @Param({"SCALAR", "VECTOR"})
+    private KernelType kernel;
+
+    @Param({"false", "true"})
+    private boolean instrumented;
+
+    private SimulationKernel simulationKernel;
+    private SimulationPlan plan;
+    private double[] positions;
+    private double[] temperatures;
+    private double[] viscosities;
+
+    @Setup
+    public void setUp() {
+        simulationKernel = kernel == KernelType.VECTOR ? new VectorSimulationKernel() : new ScalarSimulationKernel();
+        if (instrumented) {
+            simulationKernel = new InstrumentedSimulationKernel(simulationKernel);
+        }
+        plan = SimulationPlan.compile(material.model(CHUNK_POINTS));
+        positions = new double[CHUNK_POINTS];
+        temperatures = new double[CHUNK_POINTS];
+        viscosities = new double[CHUNK_POINTS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_POINTS)
+    public double evaluate() {
+        simulationKernel.evaluate(plan, 0, CHUNK_POINTS, positions, temperatures, viscosities, 0);
+        return viscosities[CHUNK_POINTS - 1];
+    }
+}
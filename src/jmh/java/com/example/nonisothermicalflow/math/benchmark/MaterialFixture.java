@@ -0,0 +1,57 @@
+package com.example.nonisothermicalflow.math.benchmark;
+
+import com.example.nonisothermicalflow.math.model.MathModel;
+
+/**
+ * Эталонные модели для бенчмарков: свойства и коэффициенты материалов из начальных данных
+ * базы материалов (sql/init/materials-db.sql), геометрия и режим — значения по умолчанию интерфейса.
+ */
+public enum MaterialFixture {
+    //            ρ,     c,      Tg,    T0,    μ0,     C1,   C2,   Tr,    n,    αu
+    POLYCARBONATE(1200, 1400, 150, 230, 8390, 17.4, 51.6, 280, 0.64, 350),
+    POLYPROPYLENE(900, 1080, 100, 180, 7500, 28.2, 24.7, 267, 0.5, 200);
+
+    private static final double WIDTH = 0.2;
+    private static final double DEPTH = 0.01;
+    private static final double LENGTH = 8.0;
+    private static final double COVER_SPEED = 0.9;
+    private static final double COVER_TEMP = 280;
+
+    private final double density;
+    private final double heatCapacity;
+    private final double glassTransitionTemp;
+    private final double meltingTemp;
+    private final double mu0;
+    private final double firstConstantVLF;
+    private final double secondConstantVLF;
+    private final double castingTemp;
+    private final double flowIndex;
+    private final double heatTransfer;
+
+    MaterialFixture(double density, double heatCapacity, double glassTransitionTemp, double meltingTemp,
+                    double mu0, double firstConstantVLF, double secondConstantVLF, double castingTemp,
+                    double flowIndex, double heatTransfer) {
+        this.density = density;
+        this.heatCapacity = heatCapacity;
+        this.glassTransitionTemp = glassTransitionTemp;
+        this.meltingTemp = meltingTemp;
+        this.mu0 = mu0;
+        this.firstConstantVLF = firstConstantVLF;
+        this.secondConstantVLF = secondConstantVLF;
+        this.castingTemp = castingTemp;
+        this.flowIndex = flowIndex;
+        this.heatTransfer = heatTransfer;
+    }
+
+    /**
+     * Создает модель, равномерная сетка которой содержит ровно pointsCount точек
+     *
+     * @param pointsCount количество точек профиля (не меньше 2)
+     * @return модель с параметрами материала
+     */
+    public MathModel model(int pointsCount) {
+        return new MathModel(WIDTH, DEPTH, LENGTH, density, heatCapacity, glassTransitionTemp, meltingTemp,
+                COVER_SPEED, COVER_TEMP, mu0, firstConstantVLF, secondConstantVLF, castingTemp, flowIndex,
+                heatTransfer, LENGTH / (pointsCount - 1));
+    }
+}
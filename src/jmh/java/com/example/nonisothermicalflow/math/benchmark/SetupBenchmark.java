@@ -0,0 +1,44 @@
+package com.example.nonisothermicalflow.math.benchmark;
+
+import com.example.nonisothermicalflow.math.engine.SimulationPlan;
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.SimulationSummary;
+import com.example.nonisothermicalflow.math.service.MathService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фиксированная стоимость расчета, не зависящая от размера сетки:
+ * компиляция плана по MathModel и расчет итоговых показателей без профилей
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class SetupBenchmark {
+
+    @Param({"POLYCARBONATE", "POLYPROPYLENE"})
+    private MaterialFixture material;
+
+    private MathService mathService;
+    private MathModel model;
+
+    @Setup
+    public void setUp() {
+        mathService = new MathService();
+        model = material.model(1001);
+    }
+
+    @Benchmark
+    public SimulationPlan compilePlan() {
+        return SimulationPlan.compile(model);
+    }
+
+    @Benchmark
+    public SimulationSummary summarize() {
+        return mathService.summarize(model);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.nonisothermicalflow.math.benchmark;
+
+import com.example.nonisothermicalflow.math.model.KernelType;
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.ResultModel;
+import com.example.nonisothermicalflow.math.model.SimulationOptions;
+import com.example.nonisothermicalflow.math.service.MathService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Полный расчет MathService.runSimulation для сеток от 10² до 10⁷ точек:
+ * компиляция плана, выделение колонок результата и проход ядра по сетке.
+ * Скорость выделения памяти измеряется профилировщиком -prof gc.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SimulationBenchmark {
+
+    @Param({"POLYCARBONATE", "POLYPROPYLENE"})
+    private MaterialFixture material;
+
+    @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+    private int points;
+
+    @Param({"SCALAR", "VECTOR"})
+    private KernelType kernel;
+
+    private MathService mathService;
+    private MathModel model;
+    private SimulationOptions options;
+
+    @Setup
+    public void setUp() {
+        mathService = new MathService();
+        model = material.model(points);
+        options = new SimulationOptions();
+        options.setKernel(kernel);
+    }
+
+    @Benchmark
+    public ResultModel runSimulation() {
+        return mathService.runSimulation(model, options);
+    }
+}
@@ -32,4 +32,12 @@ public class EmpiricalCoefficient {
     @Size(max = 50, message = "Единица измерения не должна превышать 50 символов")
     @Column(name = "unit_of_measurement", nullable = false)
     private String unitOfMeasurement;
+
+    /**
+     * Стабильный код коэффициента, по которому расчет находит значение независимо от названия
+     * (совпадает с именем поля MathModel, например "mu0")
+     */
+    @Size(max = 50, message = "Код коэффициента не должен превышать 50 символов")
+    @Column(name = "code", unique = true, length = 50)
+    private String code;
 }
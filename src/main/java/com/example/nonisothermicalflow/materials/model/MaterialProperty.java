@@ -36,4 +36,12 @@ public class MaterialProperty {
     @Size(max = 50, message = "Единица измерения не должна превышать 50 символов")
     @Column(name = "unit_of_measurement", nullable = false)
     private String unitOfMeasurement;
+
+    /**
+     * Стабильный код свойства, по которому расчет находит значение независимо от названия
+     * (совпадает с именем поля MathModel, например "density")
+     */
+    @Size(max = 50, message = "Код свойства не должен превышать 50 символов")
+    @Column(name = "code", unique = true, length = 50)
+    private String code;
 }
@@ -11,5 +11,6 @@ import java.util.UUID;
 public interface EmpiricalCoefficientRepository extends JpaRepository<EmpiricalCoefficient, UUID> {
     Optional<EmpiricalCoefficient> findByCoefficientName(String coefficientName);
     boolean existsByCoefficientName(String coefficientName);
+    Optional<EmpiricalCoefficient> findByCode(String code);
 
 }
@@ -11,5 +11,6 @@ import java.util.UUID;
 public interface MaterialPropertyRepository extends JpaRepository<MaterialProperty, UUID> {
     Optional<MaterialProperty> findByPropertyName(String propertyName);
     boolean existsByPropertyName(String propertyName);
+    Optional<MaterialProperty> findByCode(String code);
 }
 
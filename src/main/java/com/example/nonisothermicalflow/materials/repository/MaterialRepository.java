@@ -2,8 +2,11 @@ package com.example.nonisothermicalflow.materials.repository;
 
 import com.example.nonisothermicalflow.materials.model.Material;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,4 +16,13 @@ public interface MaterialRepository extends JpaRepository<Material, UUID> {
     Optional<Material> findByName(String name);
     List<Material> findByMaterialType(String materialType);
     boolean existsByName(String name);
+
+    /**
+     * Загружает материалы вместе со значениями свойств и коэффициентов одним запросом
+     */
+    @Query("SELECT DISTINCT m FROM Material m " +
+           "LEFT JOIN FETCH m.propertyValues pv LEFT JOIN FETCH pv.property " +
+           "LEFT JOIN FETCH m.coefficientValues cv LEFT JOIN FETCH cv.coefficient " +
+           "WHERE m.id IN :ids")
+    List<Material> findWithValuesByIdIn(@Param("ids") Collection<UUID> ids);
 }
\ No newline at end of file
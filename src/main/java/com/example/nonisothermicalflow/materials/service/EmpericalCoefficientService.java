@@ -3,6 +3,7 @@ package com.example.nonisothermicalflow.materials.service;
 import com.example.nonisothermicalflow.materials.model.EmpiricalCoefficient;
 import com.example.nonisothermicalflow.materials.repository.EmpiricalCoefficientRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +17,7 @@ public class EmpericalCoefficientService {
     
     private final EmpiricalCoefficientRepository coefficientRepository;
     private final MaterialDeletionService deletionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public EmpiricalCoefficient getEmpiricalCoefficientById(UUID id) {
@@ -60,6 +62,11 @@ public class EmpericalCoefficientService {
                 throw new IllegalStateException("Коэффициент с названием '" + coefficient.getCoefficientName() + "' уже существует");
             }
             
+            // Проверяем уникальность кода, если он задан
+            if (coefficient.getCode() != null && coefficientRepository.findByCode(coefficient.getCode()).isPresent()) {
+                throw new IllegalStateException("Коэффициент с кодом '" + coefficient.getCode() + "' уже существует");
+            }
+            
             return coefficientRepository.save(coefficient);
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при создании эмпирического коэффициента: " + e.getMessage(), e);
@@ -93,10 +100,23 @@ public class EmpericalCoefficientService {
                 throw new IllegalStateException("Коэффициент с названием '" + updatedCoefficient.getCoefficientName() + "' уже существует");
             }
             
+            // Проверяем уникальность кода, если он изменился
+            if (updatedCoefficient.getCode() != null && !updatedCoefficient.getCode().equals(existingCoefficient.getCode()) &&
+                coefficientRepository.findByCode(updatedCoefficient.getCode()).isPresent()) {
+                throw new IllegalStateException("Коэффициент с кодом '" + updatedCoefficient.getCode() + "' уже существует");
+            }
+            
             existingCoefficient.setCoefficientName(updatedCoefficient.getCoefficientName());
             existingCoefficient.setUnitOfMeasurement(updatedCoefficient.getUnitOfMeasurement());
+            // Код меняется только если задан: клиенты, не знающие о кодах, его не сбрасывают
+            if (updatedCoefficient.getCode() != null) {
+                existingCoefficient.setCode(updatedCoefficient.getCode());
+            }
             
-            return coefficientRepository.save(existingCoefficient);
+            EmpiricalCoefficient savedCoefficient = coefficientRepository.save(existingCoefficient);
+            // Код мог измениться: параметры всех материалов нужно перечитать
+            eventPublisher.publishEvent(MaterialChangedEvent.all());
+            return savedCoefficient;
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при обновлении эмпирического коэффициента: " + e.getMessage(), e);
         }
@@ -115,6 +135,7 @@ public class EmpericalCoefficientService {
             deletionService.deleteAllCoefficientValues(id);
             
             coefficientRepository.delete(coefficient);
+            eventPublisher.publishEvent(MaterialChangedEvent.all());
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при удалении эмпирического коэффициента: " + e.getMessage(), e);
         }
@@ -0,0 +1,41 @@
+package com.example.nonisothermicalflow.materials.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Событие изменения данных материала, публикуемое сервисами материалов.
+ * Подписчики (например, кэш параметров материалов для расчета) сбрасывают устаревшие данные.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class MaterialChangedEvent {
+
+    /** ID измененного материала или null, если изменение затрагивает все материалы */
+    private final UUID materialId;
+
+    /**
+     * @param materialId ID материала, значения которого изменились
+     * @return событие изменения одного материала
+     */
+    public static MaterialChangedEvent of(UUID materialId) {
+        return new MaterialChangedEvent(materialId);
+    }
+
+    /**
+     * @return событие изменения справочника свойств или коэффициентов, общего для всех материалов
+     */
+    public static MaterialChangedEvent all() {
+        return new MaterialChangedEvent(null);
+    }
+
+    /**
+     * @return true, если изменение затрагивает все материалы
+     */
+    public boolean isGlobal() {
+        return materialId == null;
+    }
+}
@@ -5,6 +5,7 @@ import com.example.nonisothermicalflow.materials.model.EmpiricalCoefficient;
 import com.example.nonisothermicalflow.materials.model.MaterialCoefficientValue;
 import com.example.nonisothermicalflow.materials.repository.MaterialCoefficientValueRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +19,7 @@ public class MaterialCoefficientValueService {
     private final MaterialCoefficientValueRepository coefficientValueRepository;
     private final MaterialService materialService;
     private final EmpericalCoefficientService coefficientService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public MaterialCoefficientValue addCoefficientValue(UUID materialId, UUID coefficientId, Double value) {
@@ -38,7 +40,9 @@ public class MaterialCoefficientValueService {
             // Используем новый конструктор для автоматической инициализации составного ключа
             MaterialCoefficientValue coefficientValue = new MaterialCoefficientValue(material, coefficient, value);
 
-            return coefficientValueRepository.save(coefficientValue);
+            MaterialCoefficientValue savedCoefficientValue = coefficientValueRepository.save(coefficientValue);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(materialId));
+            return savedCoefficientValue;
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при добавлении значения коэффициента: " + e.getMessage(), e);
         }
@@ -59,7 +63,9 @@ public class MaterialCoefficientValueService {
                     materialId + " и коэффициента с ID: " + coefficientId));
             
             coefficientValue.setCoefficientValue(newValue);
-            return coefficientValueRepository.save(coefficientValue);
+            MaterialCoefficientValue savedCoefficientValue = coefficientValueRepository.save(coefficientValue);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(materialId));
+            return savedCoefficientValue;
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при обновлении значения коэффициента: " + e.getMessage(), e);
         }
@@ -98,6 +104,7 @@ public class MaterialCoefficientValueService {
             }
             
             coefficientValueRepository.deleteByMaterialAndCoefficient(material, coefficient);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(materialId));
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при удалении значения коэффициента: " + e.getMessage(), e);
         }
@@ -114,6 +121,7 @@ public class MaterialCoefficientValueService {
             materialService.getMaterialById(materialId);
             
             coefficientValueRepository.deleteByMaterialId(materialId);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(materialId));
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при удалении всех значений коэффициентов материала: " + e.getMessage(), e);
         }
@@ -130,6 +138,7 @@ public class MaterialCoefficientValueService {
             coefficientService.getEmpiricalCoefficientById(coefficientId);
             
             coefficientValueRepository.deleteByCoefficientId(coefficientId);
+            eventPublisher.publishEvent(MaterialChangedEvent.all());
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при удалении всех значений коэффициента: " + e.getMessage(), e);
         }
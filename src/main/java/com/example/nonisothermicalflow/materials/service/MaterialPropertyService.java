@@ -3,6 +3,7 @@ package com.example.nonisothermicalflow.materials.service;
 import com.example.nonisothermicalflow.materials.model.MaterialProperty;
 import com.example.nonisothermicalflow.materials.repository.MaterialPropertyRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +16,7 @@ public class MaterialPropertyService {
     
     private final MaterialPropertyRepository propertyRepository;
     private final MaterialDeletionService deletionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public MaterialProperty getMaterialPropertyById(UUID id) {
@@ -59,6 +61,11 @@ public class MaterialPropertyService {
                 throw new IllegalStateException("Свойство с названием '" + property.getPropertyName() + "' уже существует");
             }
             
+            // Проверяем уникальность кода, если он задан
+            if (property.getCode() != null && propertyRepository.findByCode(property.getCode()).isPresent()) {
+                throw new IllegalStateException("Свойство с кодом '" + property.getCode() + "' уже существует");
+            }
+            
             return propertyRepository.save(property);
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при создании свойства материала: " + e.getMessage(), e);
@@ -92,10 +99,23 @@ public class MaterialPropertyService {
                 throw new IllegalStateException("Свойство с названием '" + updatedProperty.getPropertyName() + "' уже существует");
             }
             
+            // Проверяем уникальность кода, если он изменился
+            if (updatedProperty.getCode() != null && !updatedProperty.getCode().equals(existingProperty.getCode()) &&
+                propertyRepository.findByCode(updatedProperty.getCode()).isPresent()) {
+                throw new IllegalStateException("Свойство с кодом '" + updatedProperty.getCode() + "' уже существует");
+            }
+            
             existingProperty.setPropertyName(updatedProperty.getPropertyName());
             existingProperty.setUnitOfMeasurement(updatedProperty.getUnitOfMeasurement());
+            // Код меняется только если задан: клиенты, не знающие о кодах, его не сбрасывают
+            if (updatedProperty.getCode() != null) {
+                existingProperty.setCode(updatedProperty.getCode());
+            }
             
-            return propertyRepository.save(existingProperty);
+            MaterialProperty savedProperty = propertyRepository.save(existingProperty);
+            // Код мог измениться: параметры всех материалов нужно перечитать
+            eventPublisher.publishEvent(MaterialChangedEvent.all());
+            return savedProperty;
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при обновлении свойства материала: " + e.getMessage(), e);
         }
@@ -114,6 +134,7 @@ public class MaterialPropertyService {
             deletionService.deleteAllPropertyValues(id);
             
             propertyRepository.delete(property);
+            eventPublisher.publishEvent(MaterialChangedEvent.all());
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при удалении свойства материала: " + e.getMessage(), e);
         }
@@ -5,6 +5,7 @@ import com.example.nonisothermicalflow.materials.model.MaterialProperty;
 import com.example.nonisothermicalflow.materials.model.MaterialPropertyValue;
 import com.example.nonisothermicalflow.materials.repository.MaterialPropertyValueRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +19,7 @@ public class MaterialPropertyValueService {
     private final MaterialPropertyValueRepository propertyValueRepository;
     private final MaterialService materialService;
     private final MaterialPropertyService propertyService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public MaterialPropertyValue addPropertyValue(UUID materialId, UUID propertyId, Double value) {
@@ -38,7 +40,9 @@ public class MaterialPropertyValueService {
             // Используем новый конструктор для автоматической инициализации составного ключа
             MaterialPropertyValue propertyValue = new MaterialPropertyValue(material, property, value);
 
-            return propertyValueRepository.save(propertyValue);
+            MaterialPropertyValue savedPropertyValue = propertyValueRepository.save(propertyValue);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(materialId));
+            return savedPropertyValue;
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при добавлении значения свойства: " + e.getMessage(), e);
         }
@@ -59,7 +63,9 @@ public class MaterialPropertyValueService {
                     materialId + " и свойства с ID: " + propertyId));
             
             propertyValue.setPropertyValue(newValue);
-            return propertyValueRepository.save(propertyValue);
+            MaterialPropertyValue savedPropertyValue = propertyValueRepository.save(propertyValue);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(materialId));
+            return savedPropertyValue;
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при обновлении значения свойства: " + e.getMessage(), e);
         }
@@ -98,6 +104,7 @@ public class MaterialPropertyValueService {
             }
             
             propertyValueRepository.deleteByMaterialAndProperty(material, property);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(materialId));
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при удалении значения свойства: " + e.getMessage(), e);
         }
@@ -114,6 +121,7 @@ public class MaterialPropertyValueService {
             materialService.getMaterialById(materialId);
             
             propertyValueRepository.deleteByMaterialId(materialId);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(materialId));
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при удалении всех значений свойств материала: " + e.getMessage(), e);
         }
@@ -130,6 +138,7 @@ public class MaterialPropertyValueService {
             propertyService.getMaterialPropertyById(propertyId);
             
             propertyValueRepository.deleteByPropertyId(propertyId);
+            eventPublisher.publishEvent(MaterialChangedEvent.all());
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при удалении всех значений свойства: " + e.getMessage(), e);
         }
@@ -3,6 +3,7 @@ package com.example.nonisothermicalflow.materials.service;
 import com.example.nonisothermicalflow.materials.model.Material;
 import com.example.nonisothermicalflow.materials.repository.MaterialRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +16,7 @@ public class MaterialService {
     
     private final MaterialRepository materialRepository;
     private final MaterialDeletionService deletionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Material getMaterialById(UUID id) {
@@ -95,7 +97,9 @@ public class MaterialService {
             existingMaterial.setName(updatedMaterial.getName());
             existingMaterial.setMaterialType(updatedMaterial.getMaterialType());
             
-            return materialRepository.save(existingMaterial);
+            Material savedMaterial = materialRepository.save(existingMaterial);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(id));
+            return savedMaterial;
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при обновлении материала: " + e.getMessage(), e);
         }
@@ -114,6 +118,7 @@ public class MaterialService {
             deletionService.deleteAllMaterialValues(id);
             
             materialRepository.delete(material);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(id));
         } catch (Exception e) {
             throw new RuntimeException("Ошибка при удалении материала: " + e.getMessage(), e);
         }
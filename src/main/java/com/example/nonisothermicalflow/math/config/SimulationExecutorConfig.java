@@ -0,0 +1,75 @@
+package com.example.nonisothermicalflow.math.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Конфигурация пулов потоков для параллельных расчетов и асинхронных ответов MVC.
+ * Включает планировщик для очистки завершенных асинхронных задач.
+ * <p>
+ * Пул simulationExecutor реализует Executor, поэтому автоконфигурация Spring Boot не создает
+ * свой applicationTaskExecutor, и MVC выполнял бы потоковые ответы в неограниченном
+ * SimpleAsyncTaskExecutor. Ограниченный пул с тем же именем объявлен здесь явно.
+ */
+@Configuration
+@EnableScheduling
+@Slf4j
+public class SimulationExecutorConfig implements WebMvcConfigurer {
+
+    @Value("${simulation.executor.parallelism:0}")
+    private int parallelism;
+
+    @Value("${simulation.async.threads:32}")
+    private int asyncThreads;
+
+    @Value("${simulation.async.queue-capacity:100}")
+    private int asyncQueueCapacity;
+
+    /**
+     * Ограниченный ForkJoin-пул для вычислительных задач (пакетные расчеты, перебор параметров).
+     * Расчеты не блокируются на вводе-выводе, поэтому число потоков равно числу ядер,
+     * если в конфигурации не задано иное.
+     *
+     * @return пул потоков для расчетов
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool simulationExecutor() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        log.info("Пул потоков для расчетов: {} потоков", threads);
+        return new ForkJoinPool(threads);
+    }
+
+    /**
+     * Ограниченный пул для асинхронной обработки запросов MVC (StreamingResponseBody).
+     * Потоки пула записывают ответ и ждут расчета в simulationExecutor, поэтому их может быть
+     * больше числа ядер. При заполненной очереди ответ записывается в потоке запроса Tomcat:
+     * новые потоки не создаются, а допуск расчета, полученный до начала ответа, не теряется.
+     *
+     * @return пул потоков для асинхронных ответов
+     */
+    @Bean(name = "applicationTaskExecutor")
+    public ThreadPoolTaskExecutor applicationTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncThreads);
+        executor.setMaxPoolSize(asyncThreads);
+        executor.setQueueCapacity(asyncQueueCapacity);
+        executor.setThreadNamePrefix("simulation-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        log.info("Пул асинхронных ответов: {} потоков, очередь {}", asyncThreads, asyncQueueCapacity);
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor());
+    }
+}
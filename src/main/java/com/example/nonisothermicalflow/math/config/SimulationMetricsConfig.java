@@ -0,0 +1,22 @@
+package com.example.nonisothermicalflow.math.config;
+
+import com.example.nonisothermicalflow.math.controller.SerializationTimingAdvice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Регистрация замера записи ответов математических API
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SimulationMetricsConfig implements WebMvcConfigurer {
+
+    private final SerializationTimingAdvice serializationTimingAdvice;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(serializationTimingAdvice).addPathPatterns("/api/v1/math/simulation/**");
+    }
+}
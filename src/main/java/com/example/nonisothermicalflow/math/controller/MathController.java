@@ -1,49 +1,524 @@
 package com.example.nonisothermicalflow.math.controller;
 
+import com.example.nonisothermicalflow.math.engine.SimulationCancelledException;
+import com.example.nonisothermicalflow.math.engine.SimulationControl;
+import com.example.nonisothermicalflow.math.model.BatchItemResult;
+import com.example.nonisothermicalflow.math.model.MaterialComparisonRequest;
+import com.example.nonisothermicalflow.math.model.MaterialComparisonResult;
+import com.example.nonisothermicalflow.math.model.MaterialParameters;
+import com.example.nonisothermicalflow.math.model.MaterialSimulationRequest;
 import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.OdeResultModel;
+import com.example.nonisothermicalflow.math.model.OdeSimulationRequest;
+import com.example.nonisothermicalflow.math.model.OptimizationRequest;
+import com.example.nonisothermicalflow.math.model.OptimizationResult;
+import com.example.nonisothermicalflow.math.model.PointQueryRequest;
+import com.example.nonisothermicalflow.math.model.ProfilePoints;
 import com.example.nonisothermicalflow.math.model.ResultModel;
+import com.example.nonisothermicalflow.math.model.SimulationCacheStats;
+import com.example.nonisothermicalflow.math.model.SimulationOptions;
+import com.example.nonisothermicalflow.math.model.SimulationSummary;
+import com.example.nonisothermicalflow.math.model.SweepRequest;
+import com.example.nonisothermicalflow.math.model.SweepResult;
+import com.example.nonisothermicalflow.math.model.UncertaintyRequest;
+import com.example.nonisothermicalflow.math.model.UncertaintyResult;
+import com.example.nonisothermicalflow.math.service.MaterialComparisonService;
+import com.example.nonisothermicalflow.math.service.MaterialParametersService;
 import com.example.nonisothermicalflow.math.service.MathService;
+import com.example.nonisothermicalflow.math.service.OptimizationService;
+import com.example.nonisothermicalflow.math.service.ProfileStreamWriter;
+import com.example.nonisothermicalflow.math.service.SimulationAdmissionService;
+import com.example.nonisothermicalflow.math.service.SimulationBatchService;
+import com.example.nonisothermicalflow.math.service.SimulationCacheService;
+import com.example.nonisothermicalflow.math.service.SimulationCostEstimator;
+import com.example.nonisothermicalflow.math.service.SweepService;
+import com.example.nonisothermicalflow.math.service.UncertaintyService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
- * Контроллер для API моделирования неизотермического течения
+ * Контроллер для API моделирования неизотермического течения.
+ * Расчеты профилей (/simulation, /simulation/material, /simulation/materials/compare,
+ * /simulation/stream, /simulation/batch), численное решение (/simulation/ode), перебор, оптимизация
+ * и неопределенность допускаются к выполнению по оценке стоимости через {@link SimulationAdmissionService}.
+ * Эти расчеты, кроме численного решения, выполняются со сроком из заголовка X-Simulation-Timeout
+ * (мс, не больше simulation.deadline.max) или simulation.deadline.default и прерываются по его истечении
+ * или при закрытии соединения клиентом.
  */
 @RestController
 @RequestMapping("/api/v1/math")
 public class MathController {
 
+    /** Заголовок с допустимым временем выполнения расчета, мс */
+    public static final String TIMEOUT_HEADER = "X-Simulation-Timeout";
+
     private final MathService mathService;
+    private final SimulationCacheService cacheService;
+    private final SimulationBatchService batchService;
+    private final SweepService sweepService;
+    private final OptimizationService optimizationService;
+    private final UncertaintyService uncertaintyService;
+    private final MaterialParametersService materialParametersService;
+    private final MaterialComparisonService comparisonService;
+    private final SimulationAdmissionService admissionService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${simulation.stream.chunk-points:8192}")
+    private int streamChunkPoints;
+
+    @Value("${simulation.deadline.default:30s}")
+    private Duration defaultDeadline;
+
+    @Value("${simulation.deadline.max:5m}")
+    private Duration maxDeadline;
 
     @Autowired
-    public MathController(MathService mathService) {
+    public MathController(MathService mathService, SimulationCacheService cacheService,
+                          SimulationBatchService batchService, SweepService sweepService,
+                          OptimizationService optimizationService, UncertaintyService uncertaintyService,
+                          MaterialParametersService materialParametersService,
+                          MaterialComparisonService comparisonService,
+                          SimulationAdmissionService admissionService, ObjectMapper objectMapper) {
         this.mathService = mathService;
+        this.cacheService = cacheService;
+        this.batchService = batchService;
+        this.sweepService = sweepService;
+        this.optimizationService = optimizationService;
+        this.uncertaintyService = uncertaintyService;
+        this.materialParametersService = materialParametersService;
+        this.comparisonService = comparisonService;
+        this.admissionService = admissionService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Эндпойнт для выполнения моделирования
      * 
      * @param model модель с параметрами для моделирования
+     * @param options опции расчета из строки запроса (например, ?kernel=VECTOR&maxPoints=2000&decimation=LTTB
+     *                или ?temperatureTolerance=0.05&viscosityTolerance=0.001 для адаптивной выборки;
+     *                operationsCount заполняется только при ?instrumented=true)
+     * @param principal пользователь, которому выделяется доля бюджета вычислений
+     * @param timeout допустимое время выполнения, мс (необязательно)
      * @return результаты моделирования
      */
     @PostMapping("/simulation")
-    public ResponseEntity<ResultModel> runSimulation(@RequestBody MathModel model) {
+    public ResponseEntity<ResultModel> runSimulation(@RequestBody MathModel model, SimulationOptions options,
+                                                     Principal principal,
+                                                     @RequestHeader(value = TIMEOUT_HEADER, required = false) String timeout) {
         // Валидация входных параметров
         if (!mathService.validateParameters(model)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Некорректные параметры модели");
         }
 
-        try {
-            // Запуск расчетов через сервис
-            ResultModel result = mathService.runSimulation(model);
+        SimulationControl control = controlFor(timeout);
+        // Результат из кэша и присоединение к выполняющемуся расчету не расходуют бюджет вычислений
+        long cost = cacheService.isCachedOrInFlight(model, options) ? 0 : SimulationCostEstimator.estimate(model, options);
+        SimulationAdmissionService.Ticket ticket = admissionService.admit(userOf(principal), cost);
+        try (ticket) {
+            // Запуск расчетов через кэш результатов
+            ResultModel result = cacheService.runSimulation(model, options, control);
             
             return ResponseEntity.ok(result);
+        } catch (SimulationCancelledException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, 
                     "Ошибка при выполнении расчетов: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Эндпойнт для моделирования материала из базы: свойства и коэффициенты подставляются
+     * на сервере из кэшированного снимка параметров материала
+     *
+     * @param materialId ID материала
+     * @param request геометрия канала, режим процесса и шаг расчета
+     * @param options опции расчета из строки запроса (как для /simulation)
+     * @param principal пользователь, которому выделяется доля бюджета вычислений
+     * @param timeout допустимое время выполнения, мс (необязательно)
+     * @return результаты моделирования
+     */
+    @PostMapping("/simulation/material/{materialId}")
+    public ResponseEntity<ResultModel> runMaterialSimulation(@PathVariable UUID materialId,
+                                                             @RequestBody MaterialSimulationRequest request,
+                                                             SimulationOptions options, Principal principal,
+                                                             @RequestHeader(value = TIMEOUT_HEADER, required = false)
+                                                             String timeout) {
+        MaterialParameters parameters = materialParametersService.findParameters(materialId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Материал не найден с ID: " + materialId));
+        if (!parameters.isComplete()) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Для материала '" + parameters.getMaterialName() + "' не заданы параметры: "
+                            + parameters.getMissingParameters());
+        }
+        return runSimulation(parameters.toModel(request), options, principal, timeout);
+    }
+
+    /**
+     * Эндпойнт для сравнения материалов из базы за один запрос.
+     * Параметры всех материалов читаются одним запросом к базе (или из кэша снимков),
+     * материалы считаются параллельно, профили возвращаются колонками на общей сетке z.
+     *
+     * @param request ID материалов, общие геометрия и режим процесса, ограничение количества точек
+     * @param principal пользователь, которому выделяется доля бюджета вычислений
+     * @param timeout допустимое время выполнения, мс (необязательно)
+     * @return профили и скалярные показатели по материалам в порядке запроса
+     */
+    @PostMapping("/simulation/materials/compare")
+    public ResponseEntity<MaterialComparisonResult> compareMaterials(@RequestBody MaterialComparisonRequest request,
+                                                                     Principal principal,
+                                                                     @RequestHeader(value = TIMEOUT_HEADER, required = false)
+                                                                     String timeout) {
+        if (request.getMaterialIds() == null || request.getMaterialIds().isEmpty() || request.getProcess() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Не заданы материалы или параметры процесса");
+        }
+        LinkedHashSet<UUID> materialIds = new LinkedHashSet<>(request.getMaterialIds());
+        if (materialIds.size() > comparisonService.getMaxMaterials()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Количество материалов превышает допустимое: " + comparisonService.getMaxMaterials());
+        }
+
+        Map<UUID, MaterialParameters> parameters = materialParametersService.findParameters(materialIds);
+        List<UUID> notFound = materialIds.stream().filter(id -> !parameters.containsKey(id)).toList();
+        if (!notFound.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Материалы не найдены: " + notFound);
+        }
+        List<String> incomplete = parameters.values().stream()
+                .filter(material -> !material.isComplete())
+                .map(material -> material.getMaterialName() + " " + material.getMissingParameters())
+                .toList();
+        if (!incomplete.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Для материалов не заданы параметры: " + incomplete);
+        }
+
+        SimulationControl control = controlFor(timeout);
+        long cost = SimulationCostEstimator.estimateComparison(parameters.size(), request.getProcess(),
+                request.getMaxPoints());
+        SimulationAdmissionService.Ticket ticket = admissionService.admit(userOf(principal), cost);
+        try (ticket) {
+            return ResponseEntity.ok(comparisonService.compare(List.copyOf(parameters.values()),
+                    request.getProcess(), request.getMaxPoints(), control));
+        } catch (SimulationCancelledException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Ошибка при сравнении материалов: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Эндпойнт для численного решения уравнения энергии (метод Дормана–Принса).
+     * Позволяет задать закон вязкости ВЛФ и зависимость плотности и теплоемкости от температуры.
+     *
+     * @param request модель, законы свойств и допуски интегрирования
+     * @param principal пользователь, которому выделяется доля бюджета вычислений
+     * @return профиль по принятым шагам и сравнение с замкнутым решением
+     */
+    @PostMapping("/simulation/ode")
+    public ResponseEntity<OdeResultModel> runOdeSimulation(@RequestBody OdeSimulationRequest request,
+                                                           Principal principal) {
+        if (request.getModel() == null || !mathService.validateParameters(request.getModel())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Некорректные параметры модели");
+        }
+        SimulationAdmissionService.Ticket ticket = admissionService.admit(userOf(principal),
+                SimulationCostEstimator.estimateOde());
+        try (ticket) {
+            return ResponseEntity.ok(mathService.runOdeSimulation(request));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Эндпойнт для быстрого расчета итоговых показателей без профилей.
+     * Предназначен для интерактивного изменения параметров (ползунки в интерфейсе).
+     *
+     * @param model модель с параметрами для моделирования
+     * @return производительность, температура и вязкость на выходе канала
+     */
+    @PostMapping("/simulation/summary")
+    public ResponseEntity<SimulationSummary> summarize(@RequestBody MathModel model) {
+        if (!mathService.validateParameters(model)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Некорректные параметры модели");
+        }
+        return ResponseEntity.ok(mathService.summarize(model));
+    }
+
+    /**
+     * Эндпойнт для расчета профиля только в заданных точках канала (например, вход, выход и датчики)
+     *
+     * @param request модель и координаты точек
+     * @return температура и вязкость в заданных точках
+     */
+    @PostMapping("/simulation/points")
+    public ResponseEntity<ProfilePoints> evaluatePoints(@RequestBody PointQueryRequest request) {
+        if (request.getModel() == null || !mathService.validateParameters(request.getModel())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Некорректные параметры модели");
+        }
+        try {
+            return ResponseEntity.ok(mathService.evaluatePoints(request.getModel(), request.getPositions()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Эндпойнт для постраничного получения профиля на равномерной сетке с шагом model.step.
+     * Вычисляются только точки запрошенной страницы.
+     *
+     * @param model модель с параметрами для моделирования
+     * @param options опции расчета из строки запроса
+     * @param offset номер первой точки страницы
+     * @param limit количество точек на странице
+     * @return точки страницы и общее количество точек сетки
+     */
+    @PostMapping("/simulation/page")
+    public ResponseEntity<ProfilePoints> evaluatePage(@RequestBody MathModel model, SimulationOptions options,
+                                                      @RequestParam(defaultValue = "0") int offset,
+                                                      @RequestParam(defaultValue = "1000") int limit) {
+        if (!mathService.validateParameters(model)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Некорректные параметры модели");
+        }
+        try {
+            return ResponseEntity.ok(mathService.evaluatePage(model, options, offset, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Эндпойнт для потокового моделирования очень длинных каналов.
+     * Профиль вычисляется и отправляется порциями в формате NDJSON, поэтому память сервера
+     * не зависит от размера сетки, а первые данные приходят клиенту до окончания расчета.
+     *
+     * @param model модель с параметрами для моделирования
+     * @param options опции расчета из строки запроса
+     * @param principal пользователь, которому выделяется доля бюджета вычислений
+     * @param timeout допустимое время выполнения, мс (необязательно)
+     * @return поток строк NDJSON: заголовок, порции профиля, итоговая статистика
+     *         или строка error, если срок выполнения истек после начала ответа
+     */
+    @PostMapping(value = "/simulation/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamSimulation(@RequestBody MathModel model,
+                                                                  SimulationOptions options, Principal principal,
+                                                                  @RequestHeader(value = TIMEOUT_HEADER, required = false)
+                                                                  String timeout) {
+        if (!mathService.validateParameters(model)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Некорректные параметры модели");
+        }
+
+        SimulationControl control = controlFor(timeout);
+        // Допуск получается до начала ответа, чтобы отказ вернулся статусом, а не оборванным потоком
+        SimulationAdmissionService.Ticket ticket = admissionService.admit(userOf(principal),
+                SimulationCostEstimator.estimate(model, options));
+        StreamingResponseBody body = outputStream -> {
+            try (ticket; JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                ProfileStreamWriter writer = new ProfileStreamWriter(generator);
+                ResultModel summary;
+                try {
+                    // Если клиент закрыл соединение, запись порции бросает исключение и расчет останавливается на ней
+                    summary = mathService.streamSimulation(model, options, streamChunkPoints, writer, control);
+                } catch (SimulationCancelledException e) {
+                    writer.abort(e.getReason().name(), e.getMessage());
+                    return;
+                }
+                writer.finish(summary);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
+    /**
+     * Эндпойнт для пакетного моделирования.
+     * Варианты считаются параллельно, а результаты записываются в ответ JSON-массивом
+     * по мере готовности в порядке следования вариантов в запросе.
+     * Ошибка в одном варианте не прерывает пакет и возвращается в поле error этого варианта.
+     *
+     * @param models варианты параметров для моделирования
+     * @param options опции расчета, общие для всех вариантов
+     * @param principal пользователь, которому выделяется доля бюджета вычислений
+     * @param timeout допустимое время выполнения пакета, мс (необязательно)
+     * @return поток результатов расчета; если пакет прерван (например, истек срок выполнения),
+     *         массив завершается элементом error с причиной прерывания и номером первого непосчитанного варианта
+     */
+    @PostMapping("/simulation/batch")
+    public ResponseEntity<StreamingResponseBody> runBatchSimulation(@RequestBody List<MathModel> models,
+                                                                    SimulationOptions options, Principal principal,
+                                                                    @RequestHeader(value = TIMEOUT_HEADER, required = false)
+                                                                    String timeout) {
+        if (models == null || models.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Пакет моделей не может быть пустым");
+        }
+        if (models.size() > batchService.getMaxBatchSize()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Размер пакета превышает допустимый: " + batchService.getMaxBatchSize());
+        }
+
+        SimulationControl control = controlFor(timeout);
+        SimulationAdmissionService.Ticket ticket = admissionService.admit(userOf(principal),
+                SimulationCostEstimator.estimateBatch(models, options));
+        StreamingResponseBody body = outputStream -> {
+            try (ticket; JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                try {
+                    batchService.runBatch(models, options, control, item -> {
+                        try {
+                            generator.writeObject(item);
+                            generator.flush();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (SimulationCancelledException e) {
+                    // Статус ответа уже отправлен: причина передается завершающим элементом массива
+                    generator.writeObject(BatchItemResult.failure((int) control.getCompleted(),
+                            e.getReason().name() + ": " + e.getMessage()));
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Эндпойнт для перебора параметров модели по декартовой сетке.
+     * Возвращает только скалярные показатели (производительность, конечные температуру и вязкость).
+     *
+     * @param request базовая модель и диапазоны перебираемых параметров
+     * @param principal пользователь, которому выделяется доля бюджета вычислений
+     * @param timeout допустимое время выполнения, мс (необязательно)
+     * @return показатели в каждом узле сетки
+     */
+    @PostMapping("/simulation/sweep")
+    public ResponseEntity<SweepResult> runSweep(@RequestBody SweepRequest request, Principal principal,
+                                                @RequestHeader(value = TIMEOUT_HEADER, required = false) String timeout) {
+        SimulationControl control = controlFor(timeout);
+        SimulationAdmissionService.Ticket ticket = admissionService.admit(userOf(principal),
+                SimulationCostEstimator.estimateSweep(request));
+        try (ticket) {
+            return ResponseEntity.ok(sweepService.runSweep(request, control));
+        } catch (SimulationCancelledException e) {
+            throw e;
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Ошибка при переборе параметров: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Эндпойнт для поиска оптимального режима: максимум производительности или минимум
+     * вязкости на выходе при ограничениях на температуру и вязкость на выходе канала
+     *
+     * @param request базовая модель, варьируемые параметры с границами, целевая функция и ограничения
+     * @param principal пользователь, которому выделяется доля бюджета вычислений
+     * @param timeout допустимое время выполнения, мс (необязательно)
+     * @return оптимальные значения параметров и показатели в найденной точке
+     */
+    @PostMapping("/simulation/optimize")
+    public ResponseEntity<OptimizationResult> optimize(@RequestBody OptimizationRequest request, Principal principal,
+                                                       @RequestHeader(value = TIMEOUT_HEADER, required = false)
+                                                       String timeout) {
+        SimulationControl control = controlFor(timeout);
+        SimulationAdmissionService.Ticket ticket = admissionService.admit(userOf(principal),
+                SimulationCostEstimator.estimateOptimization(request));
+        try (ticket) {
+            return ResponseEntity.ok(optimizationService.optimize(request, control));
+        } catch (SimulationCancelledException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Ошибка при оптимизации режима: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Эндпойнт для распространения неопределенности эмпирических коэффициентов на профили.
+     * Для больших выборок предпочтительна асинхронная задача /api/v1/math/jobs/uncertainty.
+     *
+     * @param request базовая модель, распределения параметров, размер выборки и seed
+     * @param principal пользователь, которому выделяется доля бюджета вычислений
+     * @param timeout допустимое время выполнения, мс (необязательно)
+     * @return среднее, стандартное отклонение и полосы P5–P95 профилей T(z) и η(z)
+     */
+    @PostMapping("/simulation/uncertainty")
+    public ResponseEntity<UncertaintyResult> propagateUncertainty(@RequestBody UncertaintyRequest request,
+                                                                  Principal principal,
+                                                                  @RequestHeader(value = TIMEOUT_HEADER, required = false)
+                                                                  String timeout) {
+        SimulationControl control = controlFor(timeout);
+        SimulationAdmissionService.Ticket ticket = admissionService.admit(userOf(principal),
+                SimulationCostEstimator.estimateUncertainty(request));
+        try (ticket) {
+            return ResponseEntity.ok(uncertaintyService.propagate(request, control));
+        } catch (SimulationCancelledException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Ошибка при расчете неопределенности: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Эндпойнт для получения статистики кэша результатов моделирования
+     *
+     * @return счетчики попаданий, промахов и вытеснений
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<SimulationCacheStats> getCacheStats() {
+        return ResponseEntity.ok(cacheService.getStats());
+    }
+
+    /**
+     * Создает управление расчетом со сроком выполнения из заголовка запроса или конфигурации
+     */
+    private SimulationControl controlFor(String timeout) {
+        Duration deadline = defaultDeadline;
+        if (timeout != null) {
+            try {
+                deadline = Duration.ofMillis(Long.parseLong(timeout.trim()));
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Заголовок " + TIMEOUT_HEADER + " должен содержать время в миллисекундах");
+            }
+            if (deadline.isNegative() || deadline.isZero()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Заголовок " + TIMEOUT_HEADER + " должен быть положительным");
+            }
+        }
+        return SimulationControl.withTimeout(deadline.compareTo(maxDeadline) > 0 ? maxDeadline : deadline);
+    }
+
+    private static String userOf(Principal principal) {
+        return principal != null ? principal.getName() : "anonymous";
+    }
+}
@@ -1,6 +1,14 @@
 package com.example.nonisothermicalflow.math.controller;
 
+import com.example.nonisothermicalflow.math.engine.CancellationReason;
+import com.example.nonisothermicalflow.math.engine.SimulationCancelledException;
+import com.example.nonisothermicalflow.math.service.SimulationMetrics;
+import com.example.nonisothermicalflow.math.service.SimulationRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -8,22 +16,35 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
- * Глобальный обработчик исключений для контроллеров математических API
+ * Глобальный обработчик исключений для контроллеров математических API.
+ * Отказы математических API учитываются в метрике simulation.failures.
  */
 @ControllerAdvice
+@RequiredArgsConstructor
 public class MathExceptionHandler {
 
+    private static final String MATH_API_PREFIX = "/api/v1/math";
+
+    /** Нестандартный статус «клиент закрыл соединение» (nginx), в журналах отличает брошенные расчеты */
+    private static final int CLIENT_CLOSED_REQUEST = 499;
+
+    private final SimulationMetrics metrics;
+
     /**
      * Обрабатывает исключение ResponseStatusException, вызванное контроллерами
      * 
      * @param ex исключение с HTTP-статусом
+     * @param request запрос, при обработке которого возникло исключение
      * @return ResponseEntity с сообщением об ошибке и статусом
      */
     @ExceptionHandler(ResponseStatusException.class)
-    public ResponseEntity<Map<String, Object>> handleResponseStatusException(ResponseStatusException ex) {
+    public ResponseEntity<Map<String, Object>> handleResponseStatusException(ResponseStatusException ex,
+                                                                             HttpServletRequest request) {
+        recordFailure(request, causeOf(ex.getStatusCode()));
         Map<String, Object> body = new HashMap<>();
         body.put("status", ex.getStatusCode().value());
         body.put("error", ex.getStatusCode().toString());
@@ -33,14 +54,73 @@ public class MathExceptionHandler {
         return new ResponseEntity<>(body, ex.getStatusCode());
     }
     
+    /**
+     * Обрабатывает отказ в допуске расчета: 413, если расчет больше допустимого для синхронного
+     * выполнения, или 429 с заголовком Retry-After, если бюджет вычислений занят
+     *
+     * @param ex отказ в допуске расчета
+     * @param request запрос, при обработке которого возникло исключение
+     * @return ResponseEntity с сообщением об ошибке, оценкой стоимости и способом выполнить расчет
+     */
+    @ExceptionHandler(SimulationRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleSimulationRejectedException(SimulationRejectedException ex,
+                                                                                 HttpServletRequest request) {
+        recordFailure(request, ex.isTooLarge() ? "rejected_too_large" : "rejected_busy");
+        HttpStatus status = ex.isTooLarge() ? HttpStatus.PAYLOAD_TOO_LARGE : HttpStatus.TOO_MANY_REQUESTS;
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", status.value());
+        body.put("error", status.toString());
+        body.put("message", ex.getMessage());
+        body.put("cost", ex.getCost());
+        body.put("limit", ex.getLimit());
+        body.put("hint", hintFor(ex, request));
+        body.put("timestamp", LocalDateTime.now());
+
+        HttpHeaders headers = new HttpHeaders();
+        if (!ex.isTooLarge()) {
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return new ResponseEntity<>(body, headers, status);
+    }
+
+    /**
+     * Обрабатывает прерванный расчет: 504 по истечении срока выполнения, 499 при закрытии соединения
+     * клиентом (ответ до клиента не дойдет, статус нужен для журналов и метрик), 409 при отмене
+     *
+     * @param ex исключение, прервавшее расчет
+     * @param request запрос, при обработке которого возникло исключение
+     * @return ResponseEntity с причиной прерывания и статусом
+     */
+    @ExceptionHandler(SimulationCancelledException.class)
+    public ResponseEntity<Map<String, Object>> handleSimulationCancelledException(SimulationCancelledException ex,
+                                                                                  HttpServletRequest request) {
+        CancellationReason reason = ex.getReason();
+        recordFailure(request, reason.name().toLowerCase(Locale.ROOT));
+        int status = switch (reason) {
+            case DEADLINE_EXCEEDED -> HttpStatus.GATEWAY_TIMEOUT.value();
+            case CLIENT_ABORTED -> CLIENT_CLOSED_REQUEST;
+            case CANCELLED -> HttpStatus.CONFLICT.value();
+        };
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", status);
+        body.put("error", reason.name());
+        body.put("message", ex.getMessage());
+        body.put("timestamp", LocalDateTime.now());
+
+        return ResponseEntity.status(status).body(body);
+    }
+
     /**
      * Обрабатывает исключение ArithmeticException, которое может возникнуть при математических расчетах
      * 
      * @param ex исключение при математических операциях
+     * @param request запрос, при обработке которого возникло исключение
      * @return ResponseEntity с сообщением об ошибке и статусом BAD_REQUEST
      */
     @ExceptionHandler(ArithmeticException.class)
-    public ResponseEntity<Map<String, Object>> handleArithmeticException(ArithmeticException ex) {
+    public ResponseEntity<Map<String, Object>> handleArithmeticException(ArithmeticException ex,
+                                                                         HttpServletRequest request) {
+        recordFailure(request, "arithmetic");
         Map<String, Object> body = new HashMap<>();
         body.put("status", HttpStatus.BAD_REQUEST.value());
         body.put("error", "Ошибка математической операции");
@@ -54,10 +134,12 @@ public class MathExceptionHandler {
      * Обрабатывает любые другие исключения, не перехваченные другими обработчиками
      * 
      * @param ex любое исключение
+     * @param request запрос, при обработке которого возникло исключение
      * @return ResponseEntity с сообщением об ошибке и статусом INTERNAL_SERVER_ERROR
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
+    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex, HttpServletRequest request) {
+        recordFailure(request, "internal");
         Map<String, Object> body = new HashMap<>();
         body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
         body.put("error", "Внутренняя ошибка сервера");
@@ -66,4 +148,43 @@ public class MathExceptionHandler {
         
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
-} 
\ No newline at end of file
+
+    private void recordFailure(HttpServletRequest request, String cause) {
+        if (request.getRequestURI().startsWith(MATH_API_PREFIX)) {
+            metrics.recordFailure(cause);
+        }
+    }
+
+    private static String causeOf(HttpStatusCode statusCode) {
+        HttpStatus status = HttpStatus.resolve(statusCode.value());
+        return status != null ? status.name().toLowerCase(Locale.ROOT) : String.valueOf(statusCode.value());
+    }
+
+    /**
+     * Подсказка к отказу в допуске: перебор и неопределенность выполняются соответствующими задачами,
+     * остальные расчеты — задачей /api/v1/math/jobs/simulation; отказ в постановке задачи — ограничения задач
+     */
+    private static String hintFor(SimulationRejectedException ex, HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith(MATH_API_PREFIX + "/jobs/")) {
+            return ex.isTooLarge()
+                    ? "Уменьшите размер результата (например, задайте maxPoints для прореживания профиля)"
+                    : "Дождитесь завершения поставленных задач или отмените ненужные";
+        }
+        if (uri.endsWith("/simulation/sweep")) {
+            return "Уменьшите количество узлов или выполните перебор задачей /api/v1/math/jobs/sweep";
+        }
+        if (uri.endsWith("/simulation/uncertainty")) {
+            return "Уменьшите выборку или выполните расчет задачей /api/v1/math/jobs/uncertainty";
+        }
+        if (uri.endsWith("/simulation/optimize")) {
+            return ex.isTooLarge() ? "Уменьшите размер популяции или количество поколений" : "Повторите запрос позже";
+        }
+        if (uri.endsWith("/simulation/ode")) {
+            return "Повторите запрос позже";
+        }
+        return ex.isTooLarge()
+                ? "Увеличьте шаг расчета"
+                : "Повторите запрос позже или выполните расчет задачей /api/v1/math/jobs/simulation";
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.nonisothermicalflow.math.controller;
+
+import com.example.nonisothermicalflow.math.service.SimulationMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Замер фазы serialization для ответов MathController.
+ * Момент перед записью тела запоминается в атрибуте запроса, а длительность записи
+ * учитывается после завершения обработки запроса.
+ * Потоковые ответы (StreamingResponseBody) сюда не попадают: их запись входит в фазу kernel.
+ */
+@ControllerAdvice(assignableTypes = MathController.class)
+@RequiredArgsConstructor
+public class SerializationTimingAdvice implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = SerializationTimingAdvice.class.getName() + ".start";
+
+    private final SimulationMetrics metrics;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            metrics.recordSerialization(System.nanoTime() - start);
+        }
+    }
+}
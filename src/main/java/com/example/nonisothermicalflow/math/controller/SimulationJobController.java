@@ -0,0 +1,140 @@
+package com.example.nonisothermicalflow.math.controller;
+
+import com.example.nonisothermicalflow.math.model.JobStatus;
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.SimulationJob;
+import com.example.nonisothermicalflow.math.model.SimulationOptions;
+import com.example.nonisothermicalflow.math.model.SweepRequest;
+import com.example.nonisothermicalflow.math.model.UncertaintyRequest;
+import com.example.nonisothermicalflow.math.service.MathService;
+import com.example.nonisothermicalflow.math.service.SimulationCostEstimator;
+import com.example.nonisothermicalflow.math.service.SimulationJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.security.Principal;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Контроллер асинхронных задач моделирования.
+ * Постановка задачи сразу возвращает ее идентификатор, далее клиент опрашивает состояние,
+ * может отменить задачу и забирает результат после завершения.
+ */
+@RestController
+@RequestMapping("/api/v1/math/jobs")
+@RequiredArgsConstructor
+public class SimulationJobController {
+
+    private final SimulationJobService jobService;
+    private final MathService mathService;
+
+    /**
+     * Ставит в очередь расчет профилей для одной модели
+     *
+     * @param model модель с параметрами для моделирования
+     * @param options опции расчета из строки запроса
+     * @return состояние созданной задачи
+     */
+    @PostMapping("/simulation")
+    public ResponseEntity<SimulationJob> submitSimulation(@RequestBody MathModel model, SimulationOptions options,
+                                                          Principal principal) {
+        if (!mathService.validateParameters(model)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Некорректные параметры модели");
+        }
+        if (SimulationCostEstimator.estimate(model, options) > jobService.getMaxPoints()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Количество точек сетки превышает допустимое для задачи: " + jobService.getMaxPoints());
+        }
+        return accepted(() -> jobService.submitSimulation(model, options, principal.getName()));
+    }
+
+    /**
+     * Ставит в очередь перебор параметров модели
+     *
+     * @param request базовая модель и диапазоны перебираемых параметров
+     * @return состояние созданной задачи
+     */
+    @PostMapping("/sweep")
+    public ResponseEntity<SimulationJob> submitSweep(@RequestBody SweepRequest request, Principal principal) {
+        return accepted(() -> jobService.submitSweep(request, principal.getName()));
+    }
+
+    /**
+     * Ставит в очередь распространение неопределенности параметров
+     *
+     * @param request базовая модель, распределения параметров и размер выборки
+     * @return состояние созданной задачи
+     */
+    @PostMapping("/uncertainty")
+    public ResponseEntity<SimulationJob> submitUncertainty(@RequestBody UncertaintyRequest request,
+                                                           Principal principal) {
+        return accepted(() -> jobService.submitUncertainty(request, principal.getName()));
+    }
+
+    /**
+     * Возвращает состояние и прогресс задачи
+     *
+     * @param id идентификатор задачи
+     * @return состояние задачи
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<SimulationJob> getJob(@PathVariable UUID id, Principal principal) {
+        return ResponseEntity.ok(findJob(id, principal));
+    }
+
+    /**
+     * Отменяет задачу. Отмена завершенной задачи не меняет ее состояние.
+     *
+     * @param id идентификатор задачи
+     * @return состояние задачи после отмены
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<SimulationJob> cancelJob(@PathVariable UUID id, Principal principal) {
+        SimulationJob job = findJob(id, principal);
+        job.cancel();
+        return ResponseEntity.ok(job);
+    }
+
+    /**
+     * Возвращает результат завершенной задачи
+     *
+     * @param id идентификатор задачи
+     * @return ResultModel, SweepResult или UncertaintyResult в зависимости от вида задачи
+     */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Object> getResult(@PathVariable UUID id, Principal principal) {
+        SimulationJob job = findJob(id, principal);
+        JobStatus status = job.getStatus();
+        if (status == JobStatus.FAILED) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Задача завершилась с ошибкой: " + job.getError());
+        }
+        if (status != JobStatus.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Результат недоступен, состояние задачи: " + status);
+        }
+        return ResponseEntity.ok(job.getResult());
+    }
+
+    private ResponseEntity<SimulationJob> accepted(Supplier<SimulationJob> submission) {
+        try {
+            SimulationJob job = submission.get();
+            return ResponseEntity.accepted().location(URI.create("/api/v1/math/jobs/" + job.getId())).body(job);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Очередь задач моделирования заполнена, повторите запрос позже");
+        }
+    }
+
+    private SimulationJob findJob(UUID id, Principal principal) {
+        return jobService.findJob(id, principal.getName())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Задача не найдена: " + id));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.nonisothermicalflow.math.engine;
+
+import java.util.Arrays;
+
+/**
+ * Адаптивная выборка профиля с контролем погрешности.
+ * Отрезок [0, L] делится пополам до тех пор, пока кусочно-линейная интерполяция между
+ * соседними точками отличается от точного решения в середине отрезка не больше допуска:
+ * <pre>
+ *   |T(zm) − (T(z0) + T(z1)) / 2| ≤ tolT
+ *   |η(zm) − (η(z0) + η(z1)) / 2| ≤ tolη·η(zm)
+ * </pre>
+ * Поскольку погрешность линейной интерполяции пропорциональна второй производной,
+ * точки сгущаются на крутом входном участке и разрежаются там, где профиль почти линеен.
+ * Отрезки короче шага модели не делятся, поэтому точек не больше, чем на равномерной сетке.
+ */
+public class AdaptiveSampler {
+
+    /** Количество начальных отрезков, чтобы не пропустить изгиб профиля между соседними проверками */
+    private static final int INITIAL_INTERVALS = 8;
+
+    private final double temperatureTolerance;
+    private final double viscosityTolerance;
+
+    private SimulationPlan plan;
+    private double minSpacing;
+    private long evaluationsCount;
+
+    private double[] positions;
+    private double[] temperatures;
+    private double[] viscosities;
+    private int size;
+
+    /**
+     * @param temperatureTolerance допустимая погрешность температуры, °C
+     * @param viscosityTolerance допустимая относительная погрешность вязкости
+     * @throws IllegalArgumentException если допуски не положительны
+     */
+    public AdaptiveSampler(double temperatureTolerance, double viscosityTolerance) {
+        if (!(temperatureTolerance > 0) || !(viscosityTolerance > 0)) {
+            throw new IllegalArgumentException("Допуски адаптивной выборки должны быть положительными");
+        }
+        this.temperatureTolerance = temperatureTolerance;
+        this.viscosityTolerance = viscosityTolerance;
+    }
+
+    /**
+     * Строит адаптивную выборку профиля по плану расчета
+     *
+     * @param plan план расчета
+     * @param control прогресс и отмена расчета
+     */
+    public void sample(SimulationPlan plan, SimulationControl control) {
+        this.plan = plan;
+        this.minSpacing = plan.getStep();
+        this.evaluationsCount = 0;
+        int capacity = INITIAL_INTERVALS * 16 + 1;
+        this.positions = new double[capacity];
+        this.temperatures = new double[capacity];
+        this.viscosities = new double[capacity];
+        this.size = 0;
+
+        double end = plan.finalPosition();
+        int intervals = (int) Math.max(1, Math.min(INITIAL_INTERVALS, plan.getStepsCount()));
+        control.start(intervals);
+
+        double z0 = 0;
+        double chi0 = evaluate(z0);
+        emit(z0, chi0);
+        for (int k = 1; k <= intervals; k++) {
+            double z1 = k == intervals ? end : end * k / intervals;
+            double chi1 = evaluate(z1);
+            refine(z0, chi0, z1, chi1);
+            emit(z1, chi1);
+            z0 = z1;
+            chi0 = chi1;
+            control.advance(1);
+        }
+    }
+
+    /**
+     * Добавляет внутренние точки отрезка (z0, z1), пока погрешность в середине превышает допуск
+     */
+    private void refine(double z0, double chi0, double z1, double chi1) {
+        if (z1 - z0 < 2 * minSpacing) {
+            return;
+        }
+        double zm = 0.5 * (z0 + z1);
+        double chim = evaluate(zm);
+
+        double temperature = plan.temperatureOf(chim);
+        double viscosity = plan.viscosityOf(chim);
+        double temperatureError = Math.abs(temperature - 0.5 * (plan.temperatureOf(chi0) + plan.temperatureOf(chi1)));
+        double viscosityError = Math.abs(viscosity - 0.5 * (plan.viscosityOf(chi0) + plan.viscosityOf(chi1)));
+        if (temperatureError <= temperatureTolerance && viscosityError <= viscosityTolerance * Math.abs(viscosity)) {
+            return;
+        }
+        refine(z0, chi0, zm, chim);
+        emit(zm, chim);
+        refine(zm, chim, z1, chi1);
+    }
+
+    private double evaluate(double z) {
+        evaluationsCount++;
+        return plan.chiAt(z);
+    }
+
+    private void emit(double z, double chi) {
+        if (size == positions.length) {
+            int capacity = positions.length * 2;
+            positions = Arrays.copyOf(positions, capacity);
+            temperatures = Arrays.copyOf(temperatures, capacity);
+            viscosities = Arrays.copyOf(viscosities, capacity);
+        }
+        positions[size] = z;
+        temperatures[size] = plan.temperatureOf(chi);
+        viscosities[size] = plan.viscosityOf(chi);
+        size++;
+    }
+
+    /**
+     * @return количество вычислений χ(z), включая отвергнутые середины отрезков
+     */
+    public long getEvaluationsCount() {
+        return evaluationsCount;
+    }
+
+    public double[] getPositions() {
+        return Arrays.copyOf(positions, size);
+    }
+
+    public double[] getTemperatures() {
+        return Arrays.copyOf(temperatures, size);
+    }
+
+    public double[] getViscosities() {
+        return Arrays.copyOf(viscosities, size);
+    }
+}
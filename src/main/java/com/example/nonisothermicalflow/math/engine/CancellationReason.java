@@ -0,0 +1,20 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Причина прерывания расчета
+ */
+public enum CancellationReason {
+    CANCELLED("Расчет отменен"),                                           // Отменен пользователем
+    DEADLINE_EXCEEDED("Расчет прерван: истекло допустимое время выполнения"), // Истек срок выполнения запроса
+    CLIENT_ABORTED("Расчет прерван: клиент закрыл соединение");            // Клиент больше не ждет результат
+
+    private final String message;
+
+    CancellationReason(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
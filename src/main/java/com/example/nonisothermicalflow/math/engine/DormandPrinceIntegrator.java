@@ -0,0 +1,137 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Интегратор Дормана–Принса RK5(4)7M с адаптивным выбором шага.
+ * Решение продолжается формулой 5-го порядка, погрешность оценивается разностью
+ * с вложенной формулой 4-го порядка. Последняя стадия шага совпадает с первой
+ * стадией следующего (FSAL), поэтому на принятый шаг тратится 6 вычислений правой части.
+ * <p>
+ * Интегрируется скалярное уравнение, все стадии хранятся в локальных переменных:
+ * внутренний цикл не выделяет память.
+ */
+public class DormandPrinceIntegrator {
+
+    private static final double C2 = 1.0 / 5, C3 = 3.0 / 10, C4 = 4.0 / 5, C5 = 8.0 / 9;
+
+    private static final double A21 = 1.0 / 5;
+    private static final double A31 = 3.0 / 40, A32 = 9.0 / 40;
+    private static final double A41 = 44.0 / 45, A42 = -56.0 / 15, A43 = 32.0 / 9;
+    private static final double A51 = 19372.0 / 6561, A52 = -25360.0 / 2187, A53 = 64448.0 / 6561,
+            A54 = -212.0 / 729;
+    private static final double A61 = 9017.0 / 3168, A62 = -355.0 / 33, A63 = 46732.0 / 5247,
+            A64 = 49.0 / 176, A65 = -5103.0 / 18656;
+    private static final double B1 = 35.0 / 384, B3 = 500.0 / 1113, B4 = 125.0 / 192,
+            B5 = -2187.0 / 6784, B6 = 11.0 / 84;
+
+    // Коэффициенты оценки погрешности: разность весов формул 5-го и 4-го порядков
+    private static final double E1 = 71.0 / 57600, E3 = -71.0 / 16695, E4 = 71.0 / 1920,
+            E5 = -17253.0 / 339200, E6 = 22.0 / 525, E7 = -1.0 / 40;
+
+    private static final double SAFETY = 0.9;
+    private static final double MIN_FACTOR = 0.2;
+    private static final double MAX_FACTOR = 5.0;
+
+    /** Максимальное количество шагов (принятых и отвергнутых) */
+    public static final int MAX_STEPS = 1_000_000;
+
+    private final double relativeTolerance;
+    private final double absoluteTolerance;
+
+    private int acceptedSteps;
+    private int rejectedSteps;
+    private long evaluationsCount;
+
+    /**
+     * @param relativeTolerance допустимая относительная погрешность на шаге
+     * @param absoluteTolerance допустимая абсолютная погрешность на шаге
+     * @throws IllegalArgumentException если допуски не положительны
+     */
+    public DormandPrinceIntegrator(double relativeTolerance, double absoluteTolerance) {
+        if (!(relativeTolerance > 0) || !(absoluteTolerance > 0)) {
+            throw new IllegalArgumentException("Допуски интегрирования должны быть положительными");
+        }
+        this.relativeTolerance = relativeTolerance;
+        this.absoluteTolerance = absoluteTolerance;
+    }
+
+    /**
+     * Интегрирует уравнение от z0 до zEnd и сообщает о каждом принятом шаге
+     *
+     * @param ode правая часть уравнения
+     * @param z0 начальная координата
+     * @param y0 начальное значение
+     * @param zEnd конечная координата (zEnd &gt; z0)
+     * @param initialStep начальный шаг
+     * @param observer получатель принятых шагов
+     * @return значение решения в zEnd
+     * @throws ArithmeticException если шаг стал пренебрежимо мал или превышено количество шагов
+     */
+    public double integrate(ScalarOde ode, double z0, double y0, double zEnd, double initialStep,
+                            StepObserver observer) {
+        acceptedSteps = 0;
+        rejectedSteps = 0;
+        evaluationsCount = 1;
+
+        double z = z0;
+        double y = y0;
+        double h = Math.min(initialStep, zEnd - z0);
+        double minStep = Math.ulp(zEnd) * 16;
+        double k1 = ode.derivative(z, y);
+
+        while (z < zEnd) {
+            if (acceptedSteps + rejectedSteps >= MAX_STEPS) {
+                throw new ArithmeticException("Превышено максимальное количество шагов интегрирования: " + MAX_STEPS);
+            }
+            if (h < minStep) {
+                throw new ArithmeticException("Шаг интегрирования стал пренебрежимо мал при z = " + z);
+            }
+            boolean last = z + h >= zEnd;
+            if (last) {
+                h = zEnd - z;
+            }
+
+            double k2 = ode.derivative(z + C2 * h, y + h * A21 * k1);
+            double k3 = ode.derivative(z + C3 * h, y + h * (A31 * k1 + A32 * k2));
+            double k4 = ode.derivative(z + C4 * h, y + h * (A41 * k1 + A42 * k2 + A43 * k3));
+            double k5 = ode.derivative(z + C5 * h, y + h * (A51 * k1 + A52 * k2 + A53 * k3 + A54 * k4));
+            double k6 = ode.derivative(z + h, y + h * (A61 * k1 + A62 * k2 + A63 * k3 + A64 * k4 + A65 * k5));
+            double yNext = y + h * (B1 * k1 + B3 * k3 + B4 * k4 + B5 * k5 + B6 * k6);
+            double zNext = last ? zEnd : z + h;
+            double k7 = ode.derivative(zNext, yNext);
+            evaluationsCount += 6;
+
+            double errorEstimate = h * (E1 * k1 + E3 * k3 + E4 * k4 + E5 * k5 + E6 * k6 + E7 * k7);
+            double scale = absoluteTolerance + relativeTolerance * Math.max(Math.abs(y), Math.abs(yNext));
+            double error = Math.abs(errorEstimate) / scale;
+
+            if (error <= 1) {
+                z = zNext;
+                y = yNext;
+                k1 = k7;
+                acceptedSteps++;
+                observer.accept(z, y);
+                h *= error == 0 ? MAX_FACTOR : Math.min(MAX_FACTOR, SAFETY * Math.pow(error, -0.2));
+            } else {
+                // Отвергнутый шаг, в том числе при NaN в правой части (выход за область применимости законов)
+                rejectedSteps++;
+                h *= error > 0 ? Math.max(MIN_FACTOR, SAFETY * Math.pow(error, -0.2)) : MIN_FACTOR;
+            }
+        }
+        return y;
+    }
+
+    public int getAcceptedSteps() {
+        return acceptedSteps;
+    }
+
+    public int getRejectedSteps() {
+        return rejectedSteps;
+    }
+
+    /**
+     * @return количество вычислений правой части за последнее интегрирование
+     */
+    public long getEvaluationsCount() {
+        return evaluationsCount;
+    }
+}
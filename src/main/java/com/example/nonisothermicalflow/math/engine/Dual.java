@@ -0,0 +1,147 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Дуальное число для автоматического дифференцирования вперед:
+ * значение функции и градиент по n независимым переменным.
+ * Каждая операция вычисляет значение тем же выражением, что и арифметика double,
+ * а градиент — по правилам дифференцирования, поэтому значение совпадает с обычным расчетом побитово.
+ * Объекты неизменяемы.
+ */
+public final class Dual {
+
+    private final double value;
+    private final double[] gradient;
+
+    private Dual(double value, double[] gradient) {
+        this.value = value;
+        this.gradient = gradient;
+    }
+
+    /**
+     * @param value значение
+     * @param variables количество независимых переменных
+     * @return константа с нулевым градиентом
+     */
+    public static Dual constant(double value, int variables) {
+        return new Dual(value, new double[variables]);
+    }
+
+    /**
+     * @param value значение переменной
+     * @param index номер переменной
+     * @param variables количество независимых переменных
+     * @return независимая переменная с единичной производной по самой себе
+     */
+    public static Dual variable(double value, int index, int variables) {
+        double[] gradient = new double[variables];
+        gradient[index] = 1;
+        return new Dual(value, gradient);
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * @param index номер переменной
+     * @return частная производная по переменной
+     */
+    public double derivative(int index) {
+        return gradient[index];
+    }
+
+    public Dual add(Dual other) {
+        double[] result = new double[gradient.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = gradient[i] + other.gradient[i];
+        }
+        return new Dual(value + other.value, result);
+    }
+
+    public Dual add(double constant) {
+        return new Dual(value + constant, gradient);
+    }
+
+    public Dual sub(Dual other) {
+        double[] result = new double[gradient.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = gradient[i] - other.gradient[i];
+        }
+        return new Dual(value - other.value, result);
+    }
+
+    public Dual mul(Dual other) {
+        double[] result = new double[gradient.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = gradient[i] * other.value + value * other.gradient[i];
+        }
+        return new Dual(value * other.value, result);
+    }
+
+    public Dual mul(double constant) {
+        return scale(value * constant, constant);
+    }
+
+    public Dual div(Dual other) {
+        double quotient = value / other.value;
+        double[] result = new double[gradient.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (gradient[i] - quotient * other.gradient[i]) / other.value;
+        }
+        return new Dual(quotient, result);
+    }
+
+    public Dual div(double constant) {
+        return scale(value / constant, 1 / constant);
+    }
+
+    /**
+     * @return константа, деленная на это число
+     */
+    public Dual reciprocal(double numerator) {
+        double quotient = numerator / value;
+        return scale(quotient, -quotient / value);
+    }
+
+    public Dual negate() {
+        return scale(-value, -1);
+    }
+
+    public Dual exp() {
+        double exp = Math.exp(value);
+        return scale(exp, exp);
+    }
+
+    public Dual log() {
+        return scale(Math.log(value), 1 / value);
+    }
+
+    /**
+     * @return это число в постоянной степени
+     */
+    public Dual pow(double exponent) {
+        double pow = Math.pow(value, exponent);
+        return scale(pow, exponent * Math.pow(value, exponent - 1));
+    }
+
+    /**
+     * @return это число в переменной степени: d(x^y) = x^y·(y'·ln x + y·x'/x)
+     */
+    public Dual pow(Dual exponent) {
+        double pow = Math.pow(value, exponent.value);
+        double log = Math.log(value);
+        double[] result = new double[gradient.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = pow * (exponent.gradient[i] * log + exponent.value * gradient[i] / value);
+        }
+        return new Dual(pow, result);
+    }
+
+    private Dual scale(double newValue, double factor) {
+        double[] result = new double[gradient.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = gradient[i] * factor;
+        }
+        return new Dual(newValue, result);
+    }
+}
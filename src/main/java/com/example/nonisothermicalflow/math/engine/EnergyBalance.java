@@ -0,0 +1,59 @@
+package com.example.nonisothermicalflow.math.engine;
+
+import com.example.nonisothermicalflow.math.model.MathModel;
+
+/**
+ * Уравнение энергии для течения в канале без линеаризации:
+ * <pre>
+ *   ρ(T)·c(T)·Q·dT/dz = W·H·μ(T)·γ^(n+1) + W·αu·(Tu − T)
+ * </pre>
+ * Первое слагаемое — диссипативный нагрев, второе — теплообмен с крышкой.
+ * При экспоненциальном законе вязкости и постоянных ρ и c линеаризация этого уравнения
+ * по χ = exp(b·(T − Tr)) дает замкнутое решение {@link SimulationPlan}.
+ */
+public class EnergyBalance implements ScalarOde {
+
+    private final PropertyLaw viscosityLaw;
+    private final PropertyLaw densityLaw;
+    private final PropertyLaw heatCapacityLaw;
+    private final double dissipationFactor;     // W·H·γ^(n+1)
+    private final double heatTransferFactor;    // W·αu
+    private final double coverTemp;             // Tu
+    private final double flowRate;              // Q
+    private final double shearFactor;           // γ^(n−1)
+
+    /**
+     * @param plan план расчета (расход Q и скорость сдвига γ)
+     * @param model модель с геометрией канала и режимом теплообмена
+     * @param viscosityLaw коэффициент консистенции μ(T), Па·с^n
+     * @param densityLaw плотность ρ(T), кг/м³
+     * @param heatCapacityLaw удельная теплоемкость c(T), Дж/(кг·°C)
+     */
+    public EnergyBalance(SimulationPlan plan, MathModel model,
+                         PropertyLaw viscosityLaw, PropertyLaw densityLaw, PropertyLaw heatCapacityLaw) {
+        this.viscosityLaw = viscosityLaw;
+        this.densityLaw = densityLaw;
+        this.heatCapacityLaw = heatCapacityLaw;
+        this.dissipationFactor = model.getWidth() * model.getDepth()
+                * Math.pow(plan.getShearRate(), model.getFlowIndex() + 1);
+        this.heatTransferFactor = model.getWidth() * model.getHeatTransfer();
+        this.coverTemp = model.getCoverTemp();
+        this.flowRate = plan.getFlowRate();
+        this.shearFactor = Math.pow(plan.getShearRate(), model.getFlowIndex() - 1);
+    }
+
+    @Override
+    public double derivative(double z, double temperature) {
+        double heat = dissipationFactor * viscosityLaw.valueAt(temperature)
+                + heatTransferFactor * (coverTemp - temperature);
+        return heat / (densityLaw.valueAt(temperature) * heatCapacityLaw.valueAt(temperature) * flowRate);
+    }
+
+    /**
+     * @param temperature температура T, °C
+     * @return эффективная вязкость η = μ(T)·γ^(n−1), Па·с
+     */
+    public double viscosityAt(double temperature) {
+        return viscosityLaw.valueAt(temperature) * shearFactor;
+    }
+}
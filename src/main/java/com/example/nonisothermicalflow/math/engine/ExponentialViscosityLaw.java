@@ -0,0 +1,28 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Экспоненциальный закон вязкости, на котором построено замкнутое решение:
+ * μ(T) = μ0·exp(−b·(T − Tr))
+ */
+public class ExponentialViscosityLaw implements PropertyLaw {
+
+    private final double mu0;
+    private final double b;
+    private final double castingTemp;
+
+    /**
+     * @param mu0 коэффициент консистенции при Tr, Па·с^n
+     * @param b температурный коэффициент вязкости, 1/°C
+     * @param castingTemp температура приведения Tr, °C
+     */
+    public ExponentialViscosityLaw(double mu0, double b, double castingTemp) {
+        this.mu0 = mu0;
+        this.b = b;
+        this.castingTemp = castingTemp;
+    }
+
+    @Override
+    public double valueAt(double temperature) {
+        return mu0 * Math.exp(-b * (temperature - castingTemp));
+    }
+}
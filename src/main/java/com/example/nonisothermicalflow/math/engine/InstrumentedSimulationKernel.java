@@ -0,0 +1,38 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Ядро с подсчетом математических операций поверх рабочего ядра.
+ * Операции не накапливаются по точкам: после каждой порции добавляется
+ * (to − from)·{@link SimulationPlan#POINT_OPERATIONS}, поэтому цикл рабочего ядра не меняется.
+ * Счетчик относится к одному расчету: экземпляр создается на расчет и не разделяется между потоками.
+ */
+public class InstrumentedSimulationKernel implements SimulationKernel {
+
+    private final SimulationKernel delegate;
+    private long evaluatedPoints;
+
+    public InstrumentedSimulationKernel(SimulationKernel delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void evaluate(SimulationPlan plan, int from, int to,
+                         double[] positions, double[] temperatures, double[] viscosities, int offset) {
+        delegate.evaluate(plan, from, to, positions, temperatures, viscosities, offset);
+        evaluatedPoints += to - from;
+    }
+
+    /**
+     * @return количество точек, вычисленных через это ядро
+     */
+    public long getEvaluatedPoints() {
+        return evaluatedPoints;
+    }
+
+    /**
+     * @return операции компиляции плана и всех вычисленных точек
+     */
+    public long getOperationsCount() {
+        return SimulationPlan.operationsCount(evaluatedPoints);
+    }
+}
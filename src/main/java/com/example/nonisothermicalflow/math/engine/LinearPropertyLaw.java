@@ -0,0 +1,28 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Линейная зависимость свойства от температуры: p(T) = p0 + k·(T − Tref).
+ * При k = 0 свойство постоянно, как в замкнутом решении.
+ */
+public class LinearPropertyLaw implements PropertyLaw {
+
+    private final double referenceValue;
+    private final double slope;
+    private final double referenceTemp;
+
+    /**
+     * @param referenceValue значение p0 при температуре приведения
+     * @param slope температурный коэффициент k, единиц свойства на °C
+     * @param referenceTemp температура приведения Tref, °C
+     */
+    public LinearPropertyLaw(double referenceValue, double slope, double referenceTemp) {
+        this.referenceValue = referenceValue;
+        this.slope = slope;
+        this.referenceTemp = referenceTemp;
+    }
+
+    @Override
+    public double valueAt(double temperature) {
+        return referenceValue + slope * (temperature - referenceTemp);
+    }
+}
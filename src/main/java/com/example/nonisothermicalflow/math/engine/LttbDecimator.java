@@ -0,0 +1,126 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Прореживание Largest-Triangle-Three-Buckets (S. Steinarsson, 2013).
+ * Из каждого интервала выбирается точка, образующая треугольник наибольшей площади
+ * с предыдущей выбранной точкой и средней точкой следующего интервала.
+ * Потоковая реализация держит в памяти только два интервала: ожидающий выбора
+ * и заполняемый, по которому считается средняя точка.
+ */
+public class LttbDecimator extends ProfileDecimator {
+
+    private Bucket pending;
+    private Bucket filling;
+    private int bucket;
+    private long bucketEnd;
+
+    private double selectedZ;
+    private double selectedTemperature;
+
+    public LttbDecimator(int maxPoints) {
+        super(maxPoints, maxPoints - 2);
+        if (maxPoints < 3) {
+            throw new IllegalArgumentException("Для прореживания LTTB требуется не менее 3 точек");
+        }
+    }
+
+    @Override
+    public void begin(SimulationPlan plan) {
+        super.begin(plan);
+        pending = new Bucket(maxBucketSize());
+        filling = new Bucket(maxBucketSize());
+        bucket = 0;
+        bucketEnd = bucketEnd(0);
+    }
+
+    @Override
+    protected void accept(long index, double z, double temperature, double viscosity) {
+        if (index == 0) {
+            emit(z, temperature, viscosity);
+            selectedZ = z;
+            selectedTemperature = temperature;
+            return;
+        }
+        if (index == totalPoints - 1) {
+            completeBucket();
+            if (pending.count > 0) {
+                select(pending, z, temperature);
+            }
+            emit(z, temperature, viscosity);
+            return;
+        }
+        if (index >= bucketEnd) {
+            completeBucket();
+            bucket++;
+            bucketEnd = bucketEnd(bucket);
+        }
+        filling.add(z, temperature, viscosity);
+    }
+
+    /**
+     * Заполняемый интервал завершен: выбираем точку ожидающего интервала
+     * по средней точке заполненного и меняем интервалы местами
+     */
+    private void completeBucket() {
+        if (filling.count == 0) {
+            return;
+        }
+        if (pending.count > 0) {
+            select(pending, filling.sumZ / filling.count, filling.sumTemperature / filling.count);
+        }
+        Bucket completed = filling;
+        filling = pending;
+        pending = completed;
+        filling.clear();
+    }
+
+    private void select(Bucket candidates, double nextZ, double nextTemperature) {
+        int best = 0;
+        double bestArea = -1;
+        for (int k = 0; k < candidates.count; k++) {
+            double area = Math.abs((selectedZ - nextZ) * (candidates.temperatures[k] - selectedTemperature)
+                    - (selectedZ - candidates.positions[k]) * (nextTemperature - selectedTemperature));
+            if (area > bestArea) {
+                bestArea = area;
+                best = k;
+            }
+        }
+        selectedZ = candidates.positions[best];
+        selectedTemperature = candidates.temperatures[best];
+        emit(selectedZ, selectedTemperature, candidates.viscosities[best]);
+        candidates.clear();
+    }
+
+    /**
+     * Точки одного интервала и их суммы для расчета средней точки
+     */
+    private static final class Bucket {
+        private final double[] positions;
+        private final double[] temperatures;
+        private final double[] viscosities;
+        private int count;
+        private double sumZ;
+        private double sumTemperature;
+
+        private Bucket(int capacity) {
+            positions = new double[capacity];
+            temperatures = new double[capacity];
+            viscosities = new double[capacity];
+        }
+
+        private void add(double z, double temperature, double viscosity) {
+            positions[count] = z;
+            temperatures[count] = temperature;
+            viscosities[count] = viscosity;
+            count++;
+            sumZ += z;
+            sumTemperature += temperature;
+        }
+
+        private void clear() {
+            count = 0;
+            sumZ = 0;
+            sumTemperature = 0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Прореживание min/max: из каждого интервала сохраняются точки с минимальной
+ * и максимальной температурой в порядке следования по длине канала
+ */
+public class MinMaxDecimator extends ProfileDecimator {
+
+    private int bucket;
+    private long bucketEnd;
+    private boolean empty = true;
+
+    private long minIndex;
+    private double minZ;
+    private double minTemperature;
+    private double minViscosity;
+
+    private long maxIndex;
+    private double maxZ;
+    private double maxTemperature;
+    private double maxViscosity;
+
+    public MinMaxDecimator(int maxPoints) {
+        super(maxPoints, (maxPoints - 2) / 2);
+        if (maxPoints < 4) {
+            throw new IllegalArgumentException("Для прореживания min/max требуется не менее 4 точек");
+        }
+    }
+
+    @Override
+    public void begin(SimulationPlan plan) {
+        super.begin(plan);
+        bucket = 0;
+        bucketEnd = bucketEnd(0);
+        empty = true;
+    }
+
+    @Override
+    protected void accept(long index, double z, double temperature, double viscosity) {
+        if (index == 0) {
+            emit(z, temperature, viscosity);
+            return;
+        }
+        if (index == totalPoints - 1) {
+            flush();
+            emit(z, temperature, viscosity);
+            return;
+        }
+        if (index >= bucketEnd) {
+            flush();
+            bucket++;
+            bucketEnd = bucketEnd(bucket);
+        }
+
+        if (empty || temperature < minTemperature) {
+            minIndex = index;
+            minZ = z;
+            minTemperature = temperature;
+            minViscosity = viscosity;
+        }
+        if (empty || temperature > maxTemperature) {
+            maxIndex = index;
+            maxZ = z;
+            maxTemperature = temperature;
+            maxViscosity = viscosity;
+        }
+        empty = false;
+    }
+
+    private void flush() {
+        if (empty) {
+            return;
+        }
+        if (minIndex == maxIndex) {
+            emit(minZ, minTemperature, minViscosity);
+        } else if (minIndex < maxIndex) {
+            emit(minZ, minTemperature, minViscosity);
+            emit(maxZ, maxTemperature, maxViscosity);
+        } else {
+            emit(maxZ, maxTemperature, maxViscosity);
+            emit(minZ, minTemperature, minViscosity);
+        }
+        empty = true;
+    }
+}
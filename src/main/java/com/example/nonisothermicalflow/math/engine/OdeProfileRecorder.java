@@ -0,0 +1,60 @@
+package com.example.nonisothermicalflow.math.engine;
+
+import java.util.Arrays;
+
+/**
+ * Записывает принятые шаги численного решения в профиль и сравнивает их с замкнутым решением.
+ * Массивы растут удвоением, поэтому запись шага в среднем не выделяет память.
+ */
+public class OdeProfileRecorder implements StepObserver {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final SimulationPlan plan;
+    private final EnergyBalance balance;
+
+    private double[] positions = new double[INITIAL_CAPACITY];
+    private double[] temperatures = new double[INITIAL_CAPACITY];
+    private double[] viscosities = new double[INITIAL_CAPACITY];
+    private int size;
+    private double maxTemperatureDeviation;
+
+    public OdeProfileRecorder(SimulationPlan plan, EnergyBalance balance) {
+        this.plan = plan;
+        this.balance = balance;
+    }
+
+    @Override
+    public void accept(double z, double temperature) {
+        if (size == positions.length) {
+            int capacity = positions.length * 2;
+            positions = Arrays.copyOf(positions, capacity);
+            temperatures = Arrays.copyOf(temperatures, capacity);
+            viscosities = Arrays.copyOf(viscosities, capacity);
+        }
+        positions[size] = z;
+        temperatures[size] = temperature;
+        viscosities[size] = balance.viscosityAt(temperature);
+        size++;
+        maxTemperatureDeviation = Math.max(maxTemperatureDeviation, Math.abs(temperature - plan.temperatureAt(z)));
+    }
+
+    /**
+     * @return max|T − Tзамкн| по записанным точкам, °C
+     */
+    public double getMaxTemperatureDeviation() {
+        return maxTemperatureDeviation;
+    }
+
+    public double[] getPositions() {
+        return Arrays.copyOf(positions, size);
+    }
+
+    public double[] getTemperatures() {
+        return Arrays.copyOf(temperatures, size);
+    }
+
+    public double[] getViscosities() {
+        return Arrays.copyOf(viscosities, size);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.nonisothermicalflow.math.engine;
+
+import com.example.nonisothermicalflow.math.model.DecimationMethod;
+
+import java.util.Arrays;
+
+/**
+ * Потоковое прореживание профиля до заданного количества точек.
+ * Первая и последняя точки сохраняются всегда, внутренние точки сетки делятся
+ * на интервалы равной длины по номеру точки, и из каждого интервала выбираются представители.
+ * <p>
+ * Выбор выполняется по температуре: вязкость η = μ0·γ^(n−1)·exp(−b·(T − Tr)) монотонно
+ * зависит от T, поэтому экстремумы и форма кривой вязкости сохраняются вместе с температурой.
+ * Память пропорциональна количеству выходных точек и длине одного интервала, а не длине сетки.
+ */
+public abstract class ProfileDecimator implements ProfileSink {
+
+    protected final int maxPoints;
+    protected long totalPoints;
+    protected int bucketsCount;
+
+    private double[] positions;
+    private double[] temperatures;
+    private double[] viscosities;
+    private int size;
+
+    protected ProfileDecimator(int maxPoints, int bucketsCount) {
+        this.maxPoints = maxPoints;
+        this.bucketsCount = bucketsCount;
+    }
+
+    /**
+     * Создает прореживатель заданного типа
+     *
+     * @param method алгоритм прореживания
+     * @param maxPoints максимальное количество точек результата
+     * @return прореживатель профиля
+     * @throws IllegalArgumentException если maxPoints слишком мал для алгоритма
+     */
+    public static ProfileDecimator create(DecimationMethod method, int maxPoints) {
+        return switch (method) {
+            case LTTB -> new LttbDecimator(maxPoints);
+            case MIN_MAX -> new MinMaxDecimator(maxPoints);
+        };
+    }
+
+    @Override
+    public void begin(SimulationPlan plan) {
+        totalPoints = plan.getPointsCount();
+        positions = new double[maxPoints];
+        temperatures = new double[maxPoints];
+        viscosities = new double[maxPoints];
+        size = 0;
+    }
+
+    @Override
+    public void accept(int offset, double[] positions, double[] temperatures, double[] viscosities, int count) {
+        for (int k = 0; k < count; k++) {
+            accept(offset + k, positions[k], temperatures[k], viscosities[k]);
+        }
+    }
+
+    /**
+     * Обрабатывает одну точку сетки
+     */
+    protected abstract void accept(long index, double z, double temperature, double viscosity);
+
+    /**
+     * @return максимальное количество точек результата
+     */
+    public int getMaxPoints() {
+        return maxPoints;
+    }
+
+    /**
+     * @param bucket номер интервала
+     * @return номер точки сетки, следующей за последней точкой интервала
+     */
+    protected long bucketEnd(int bucket) {
+        return 1 + (bucket + 1) * (totalPoints - 2) / bucketsCount;
+    }
+
+    /**
+     * @return наибольшее количество точек сетки в одном интервале
+     */
+    protected int maxBucketSize() {
+        return (int) ((totalPoints - 2 + bucketsCount - 1) / bucketsCount) + 1;
+    }
+
+    protected void emit(double z, double temperature, double viscosity) {
+        positions[size] = z;
+        temperatures[size] = temperature;
+        viscosities[size] = viscosity;
+        size++;
+    }
+
+    public double[] getPositions() {
+        return Arrays.copyOf(positions, size);
+    }
+
+    public double[] getTemperatures() {
+        return Arrays.copyOf(temperatures, size);
+    }
+
+    public double[] getViscosities() {
+        return Arrays.copyOf(viscosities, size);
+    }
+}
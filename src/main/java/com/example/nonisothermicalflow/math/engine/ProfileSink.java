@@ -0,0 +1,28 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Получатель профиля, вычисляемого порциями фиксированного размера.
+ * Буферы порции переиспользуются между вызовами, поэтому получатель
+ * должен обработать или скопировать данные до возврата из accept.
+ */
+public interface ProfileSink {
+
+    /**
+     * Вызывается перед первой порцией
+     *
+     * @param plan план расчета
+     */
+    default void begin(SimulationPlan plan) {
+    }
+
+    /**
+     * Принимает очередную порцию точек профиля
+     *
+     * @param offset номер первой точки порции на сетке
+     * @param positions координаты z, м
+     * @param temperatures температуры T, °C
+     * @param viscosities вязкости η, Па·с
+     * @param count количество точек в порции
+     */
+    void accept(int offset, double[] positions, double[] temperatures, double[] viscosities, int count);
+}
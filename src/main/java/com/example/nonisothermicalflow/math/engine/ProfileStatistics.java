@@ -0,0 +1,247 @@
+package com.example.nonisothermicalflow.math.engine;
+
+import java.util.Arrays;
+
+/**
+ * Потоковая статистика набора профилей на общей сетке из G точек.
+ * Среднее и дисперсия накапливаются алгоритмом Уэлфорда. Квантили малых выборок (до нескольких сотен
+ * профилей, см. {@link #getExactLimit()}) вычисляются точно по сохраненным значениям: оценка P² на них
+ * смещена. Затем маркеры P² (Джейн и Хламтач, пять на точку сетки и квантиль) инициализируются
+ * по отсортированной выборке, а значения больше не хранятся.
+ * Память O(G) и не зависит от количества профилей; результат зависит от порядка
+ * добавления профилей, поэтому для воспроизводимости профили добавляются в фиксированном порядке.
+ */
+public class ProfileStatistics {
+
+    private static final int MARKERS = 5;
+
+    /** Наибольший размер выборки, квантили которой вычисляются точно */
+    private static final int MAX_EXACT_SAMPLES = 500;
+
+    /** Предельное количество сохраняемых значений на всю сетку (8 МБ) */
+    private static final int EXACT_BUFFER_VALUES = 1 << 20;
+
+    private final int size;
+    private final double[] quantiles;
+    private final double[] mean;
+    private final double[] m2;
+    private long count;
+
+    // Значения малой выборки [point·exactLimit + sample]; освобождаются после перехода к P²
+    private final int exactLimit;
+    private double[] samples;
+
+    // Маркеры P²: высоты и позиции [quantile][point·5 + marker]
+    private final double[][] heights;
+    private final int[][] positions;
+    // Желаемые позиции маркеров одинаковы для всех точек сетки, так как все получают одинаковое число значений
+    private final double[][] desired;
+    private final double[][] increments;
+
+    /**
+     * @param size количество точек сетки
+     * @param quantiles оцениваемые квантили из интервала (0, 1)
+     */
+    public ProfileStatistics(int size, double... quantiles) {
+        this.size = size;
+        this.quantiles = quantiles.clone();
+        this.mean = new double[size];
+        this.m2 = new double[size];
+        this.heights = new double[quantiles.length][size * MARKERS];
+        this.positions = new int[quantiles.length][size * MARKERS];
+        this.desired = new double[quantiles.length][MARKERS];
+        this.increments = new double[quantiles.length][];
+        for (int k = 0; k < quantiles.length; k++) {
+            double p = quantiles[k];
+            increments[k] = new double[]{0, p / 2, p, (1 + p) / 2, 1};
+        }
+        this.exactLimit = Math.max(MARKERS, Math.min(MAX_EXACT_SAMPLES, EXACT_BUFFER_VALUES / Math.max(1, size)));
+        this.samples = quantiles.length > 0 ? new double[size * exactLimit] : null;
+    }
+
+    /**
+     * Добавляет профиль
+     *
+     * @param values значения профиля
+     * @param offset номер первого значения в массиве
+     */
+    public void add(double[] values, int offset) {
+        count++;
+        for (int g = 0; g < size; g++) {
+            double value = values[offset + g];
+            double delta = value - mean[g];
+            mean[g] += delta / count;
+            m2[g] += delta * (value - mean[g]);
+        }
+        if (quantiles.length == 0) {
+            return;
+        }
+        if (count <= exactLimit) {
+            int slot = (int) count - 1;
+            for (int g = 0; g < size; g++) {
+                samples[g * exactLimit + slot] = values[offset + g];
+            }
+            return;
+        }
+        if (samples != null) {
+            initializeMarkers();
+        }
+        for (int k = 0; k < quantiles.length; k++) {
+            update(k, values, offset);
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return наибольшее количество профилей, для которого квантили вычисляются точно
+     */
+    public int getExactLimit() {
+        return exactLimit;
+    }
+
+    public double[] getMean() {
+        return mean.clone();
+    }
+
+    /**
+     * @return выборочное стандартное отклонение в каждой точке сетки
+     */
+    public double[] getStandardDeviation() {
+        double[] result = new double[size];
+        for (int g = 0; g < size; g++) {
+            result[g] = count > 1 ? Math.sqrt(m2[g] / (count - 1)) : 0;
+        }
+        return result;
+    }
+
+    /**
+     * @param k номер квантили в порядке, заданном в конструкторе
+     * @return оценка квантили в каждой точке сетки
+     */
+    public double[] getQuantile(int k) {
+        double[] result = new double[size];
+        if (count == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        if (count > exactLimit) {
+            double[] h = heights[k];
+            for (int g = 0; g < size; g++) {
+                result[g] = h[g * MARKERS + 2];
+            }
+            return result;
+        }
+        // Малая выборка: точная выборочная квантиль по отсортированным значениям
+        int n = (int) count;
+        double[] sorted = new double[n];
+        for (int g = 0; g < size; g++) {
+            System.arraycopy(samples, g * exactLimit, sorted, 0, n);
+            Arrays.sort(sorted);
+            result[g] = interpolate(sorted, quantiles[k]);
+        }
+        return result;
+    }
+
+    /**
+     * Переход от точной выборки к P²: крайние маркеры — минимум и максимум, средние — точные
+     * квантили p/2, p и (1 + p)/2 выборки на ближайших позициях. Желаемые позиции продолжают
+     * последовательность P², как если бы все значения выборки прошли через алгоритм.
+     */
+    private void initializeMarkers() {
+        int n = exactLimit;
+        for (int g = 0; g < size; g++) {
+            Arrays.sort(samples, g * exactLimit, g * exactLimit + n);
+        }
+        for (int k = 0; k < quantiles.length; k++) {
+            double[] h = heights[k];
+            int[] markerPositions = positions[k];
+            double[] dn = increments[k];
+            int[] markers = new int[MARKERS];
+            for (int i = 0; i < MARKERS; i++) {
+                desired[k][i] = 1 + (n - 1) * dn[i];
+                // Позиции маркеров строго возрастают и оставляют место следующим маркерам
+                int position = (int) Math.round(desired[k][i]);
+                int lowest = i > 0 ? markers[i - 1] + 1 : 1;
+                markers[i] = Math.max(lowest, Math.min(n - (MARKERS - 1 - i), position));
+            }
+            for (int g = 0; g < size; g++) {
+                int base = g * MARKERS;
+                for (int i = 0; i < MARKERS; i++) {
+                    h[base + i] = samples[g * exactLimit + markers[i] - 1];
+                    markerPositions[base + i] = markers[i];
+                }
+            }
+        }
+        samples = null;
+    }
+
+    private static double interpolate(double[] sorted, double p) {
+        int n = sorted.length;
+        double rank = p * (n - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = Math.min(n - 1, lower + 1);
+        double weight = rank - lower;
+        return sorted[lower] + weight * (sorted[upper] - sorted[lower]);
+    }
+
+    private void update(int k, double[] values, int offset) {
+        double[] h = heights[k];
+        int[] n = positions[k];
+        double[] np = desired[k];
+        double[] dn = increments[k];
+        for (int i = 0; i < MARKERS; i++) {
+            np[i] += dn[i];
+        }
+
+        for (int g = 0; g < size; g++) {
+            int base = g * MARKERS;
+            double x = values[offset + g];
+
+            int cell;
+            if (x < h[base]) {
+                h[base] = x;
+                cell = 0;
+            } else if (x < h[base + 1]) {
+                cell = 0;
+            } else if (x < h[base + 2]) {
+                cell = 1;
+            } else if (x < h[base + 3]) {
+                cell = 2;
+            } else if (x <= h[base + 4]) {
+                cell = 3;
+            } else {
+                h[base + 4] = x;
+                cell = 3;
+            }
+            for (int i = cell + 1; i < MARKERS; i++) {
+                n[base + i]++;
+            }
+
+            for (int i = 1; i < MARKERS - 1; i++) {
+                double d = np[i] - n[base + i];
+                int left = n[base + i - 1] - n[base + i];
+                int right = n[base + i + 1] - n[base + i];
+                if ((d >= 1 && right > 1) || (d <= -1 && left < -1)) {
+                    int sign = d > 0 ? 1 : -1;
+                    double candidate = parabolic(h, n, base + i, sign);
+                    if (h[base + i - 1] < candidate && candidate < h[base + i + 1]) {
+                        h[base + i] = candidate;
+                    } else {
+                        int j = base + i + sign;
+                        h[base + i] += sign * (h[j] - h[base + i]) / (n[j] - n[base + i]);
+                    }
+                    n[base + i] += sign;
+                }
+            }
+        }
+    }
+
+    private static double parabolic(double[] h, int[] n, int i, int sign) {
+        double span = n[i + 1] - n[i - 1];
+        return h[i] + sign / span * ((n[i] - n[i - 1] + sign) * (h[i + 1] - h[i]) / (n[i + 1] - n[i])
+                + (n[i + 1] - n[i] - sign) * (h[i] - h[i - 1]) / (n[i] - n[i - 1]));
+    }
+}
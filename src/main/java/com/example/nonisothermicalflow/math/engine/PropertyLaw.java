@@ -0,0 +1,14 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Зависимость свойства материала от температуры
+ */
+@FunctionalInterface
+public interface PropertyLaw {
+
+    /**
+     * @param temperature температура T, °C
+     * @return значение свойства при температуре T
+     */
+    double valueAt(double temperature);
+}
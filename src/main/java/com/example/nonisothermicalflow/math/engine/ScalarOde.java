@@ -0,0 +1,15 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Скалярное обыкновенное дифференциальное уравнение dy/dz = f(z, y)
+ */
+@FunctionalInterface
+public interface ScalarOde {
+
+    /**
+     * @param z независимая переменная
+     * @param y значение решения
+     * @return производная dy/dz
+     */
+    double derivative(double z, double y);
+}
@@ -0,0 +1,31 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Скалярное ядро расчета профилей температуры и вязкости по скомпилированному плану.
+ * В цикле вычисляются только зависящие от z экспоненты и логарифм.
+ */
+public class ScalarSimulationKernel implements SimulationKernel {
+
+    @Override
+    public void evaluate(SimulationPlan plan, int from, int to,
+                         double[] positions, double[] temperatures, double[] viscosities, int offset) {
+        double step = plan.getStep();
+        double thermalRatio = plan.getThermalRatio();
+        double negativeDecayRate = plan.getNegativeDecayRate();
+        double entranceExponent = plan.getEntranceExponent();
+        double entranceDecayRate = plan.getEntranceDecayRate();
+        double castingTemp = plan.getCastingTemp();
+        double inverseB = plan.getInverseB();
+        double viscosityFactor = plan.getViscosityFactor();
+
+        for (int i = from, j = offset; i < to; i++, j++) {
+            double z = i * step;
+            double chi = thermalRatio * (1 - Math.exp(negativeDecayRate * z))
+                    + Math.exp(entranceExponent - entranceDecayRate * z);
+
+            positions[j] = z;
+            temperatures[j] = castingTemp + inverseB * Math.log(chi);
+            viscosities[j] = viscosityFactor / chi;
+        }
+    }
+}
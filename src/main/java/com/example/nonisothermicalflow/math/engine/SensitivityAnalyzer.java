@@ -0,0 +1,111 @@
+package com.example.nonisothermicalflow.math.engine;
+
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.ModelParameter;
+
+/**
+ * Точные чувствительности итоговых показателей к параметрам модели.
+ * Замкнутое решение на выходе канала вычисляется в дуальных числах с градиентом
+ * по всем параметрам {@link ModelParameter} за один проход. Формулы и порядок операций
+ * повторяют {@link SimulationPlan}, поэтому значения совпадают с обычным расчетом побитово;
+ * при изменении формул плана их нужно изменить и здесь.
+ * <p>
+ * Выход канала z = round(L / Δz)·Δz (тот же, что {@link SimulationPlan#finalPosition()})
+ * рассматривается как непрерывная функция длины канала: ∂z/∂L = 1, а производные по шагу Δz равны нулю.
+ */
+public final class SensitivityAnalyzer {
+
+    private final Dual productivity;
+    private final Dual finalTemperature;
+    private final Dual finalViscosity;
+
+    private SensitivityAnalyzer(MathModel model) {
+        ModelParameter[] parameters = ModelParameter.values();
+        int n = parameters.length;
+        Dual width = variable(model, ModelParameter.WIDTH, n);
+        Dual depth = variable(model, ModelParameter.DEPTH, n);
+        Dual density = variable(model, ModelParameter.DENSITY, n);
+        Dual heatCapacity = variable(model, ModelParameter.HEAT_CAPACITY, n);
+        Dual glassTransitionTemp = variable(model, ModelParameter.GLASS_TRANSITION_TEMP, n);
+        Dual meltingTemp = variable(model, ModelParameter.MELTING_TEMP, n);
+        Dual coverSpeed = variable(model, ModelParameter.COVER_SPEED, n);
+        Dual coverTemp = variable(model, ModelParameter.COVER_TEMP, n);
+        Dual mu0 = variable(model, ModelParameter.MU0, n);
+        Dual firstConstant = variable(model, ModelParameter.FIRST_CONSTANT_VLF, n);
+        Dual secondConstant = variable(model, ModelParameter.SECOND_CONSTANT_VLF, n);
+        Dual castingTemp = variable(model, ModelParameter.CASTING_TEMP, n);
+        Dual flowIndex = variable(model, ModelParameter.FLOW_INDEX, n);
+        Dual heatTransfer = variable(model, ModelParameter.HEAT_TRANSFER, n);
+
+        // 1. Начальные параметры
+        Dual ratio = depth.div(width);
+        Dual shapeFactor = ratio.pow(2).mul(0.125).sub(ratio.mul(0.625)).add(1);
+        Dual flowRate = depth.mul(width).mul(coverSpeed).div(2).mul(shapeFactor);
+        Dual shearRate = coverSpeed.div(depth);
+        Dual viscousHeat = depth.mul(width).mul(mu0).mul(shearRate.pow(flowIndex.add(1)));
+        Dual heatFlux = width.mul(heatTransfer).mul(coverTemp);
+
+        Dual averageTemp = meltingTemp.add(glassTransitionTemp.add(100)).div(2);
+        Dual c2 = secondConstant.add(castingTemp).sub(glassTransitionTemp);
+        Dual c1 = firstConstant.mul(secondConstant).div(c2);
+        Dual b = c1.div(c2.add(averageTemp.sub(castingTemp)));
+
+        // 2. Инварианты цикла
+        Dual numerator1 = b.mul(viscousHeat).add(width.mul(heatTransfer));
+        Dual denominator1 = width.mul(b.mul(castingTemp).add(1)).mul(heatTransfer).sub(b.mul(heatFlux));
+        Dual denominator2 = density.mul(heatCapacity).mul(flowRate);
+
+        Dual inverseB = b.reciprocal(1);
+        Dual thermalRatio = numerator1.div(denominator1);
+        Dual negativeDecayRate = denominator1.div(denominator2).negate();
+        Dual entranceExponent = b.mul(meltingTemp.sub(castingTemp));
+        Dual entranceDecayRate = b.mul(width.mul(inverseB.add(castingTemp).mul(heatTransfer).sub(heatFlux)))
+                .div(denominator2);
+        Dual viscosityFactor = mu0.mul(shearRate.pow(flowIndex.sub(Dual.constant(1, n))));
+
+        // 3. Решение на выходе канала
+        Dual z = Dual.variable(SimulationPlan.outletPosition(model.getLength(), model.getStep()),
+                ModelParameter.LENGTH.ordinal(), n);
+        Dual chi = thermalRatio.mul(negativeDecayRate.mul(z).exp().negate().add(1))
+                .add(entranceExponent.sub(entranceDecayRate.mul(z)).exp());
+
+        this.productivity = density.mul(3600).mul(flowRate);
+        this.finalTemperature = castingTemp.add(inverseB.mul(chi.log()));
+        this.finalViscosity = viscosityFactor.div(chi);
+    }
+
+    /**
+     * Вычисляет итоговые показатели и их градиенты по параметрам модели
+     *
+     * @param model модель с входными параметрами
+     * @return чувствительности итоговых показателей
+     */
+    public static SensitivityAnalyzer analyze(MathModel model) {
+        return new SensitivityAnalyzer(model);
+    }
+
+    /**
+     * @return производительность Q, кг/ч, и ее градиент
+     */
+    public Dual getProductivity() {
+        return productivity;
+    }
+
+    /**
+     * @return температура на выходе Tp, °C, и ее градиент
+     */
+    public Dual getFinalTemperature() {
+        return finalTemperature;
+    }
+
+    /**
+     * @return вязкость на выходе ηp, Па·с, и ее градиент
+     */
+    public Dual getFinalViscosity() {
+        return finalViscosity;
+    }
+
+    private static Dual variable(MathModel model, ModelParameter parameter, int n) {
+        return Dual.variable(parameter.get(model), parameter.ordinal(), n);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Исключение, прерывающее расчет после запроса на отмену или по истечении срока выполнения
+ */
+public class SimulationCancelledException extends RuntimeException {
+
+    private final CancellationReason reason;
+
+    public SimulationCancelledException(String message) {
+        this(message, CancellationReason.CANCELLED);
+    }
+
+    public SimulationCancelledException(String message, CancellationReason reason) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public SimulationCancelledException(CancellationReason reason) {
+        this(reason.getMessage(), reason);
+    }
+
+    public CancellationReason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.nonisothermicalflow.math.engine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Управление выполняемым расчетом: прогресс, кооперативная отмена и срок выполнения.
+ * Расчет периодически (после каждой порции точек) сообщает о прогрессе через advance
+ * и прерывается исключением {@link SimulationCancelledException}, если расчет отменен
+ * или истек срок выполнения. Проверка срока — одно чтение System.nanoTime() на порцию.
+ * Дочернее управление (см. {@link #child()}) ведет собственный прогресс, но прерывается
+ * вместе с родительским: так отмена запроса останавливает все его параллельные расчеты.
+ * Методы потокобезопасны: порции может сообщать несколько потоков одновременно.
+ */
+public class SimulationControl {
+
+    private final SimulationControl parent;
+    private final AtomicLong completed = new AtomicLong();
+    private volatile long total;
+    private volatile CancellationReason cancellation;
+    private volatile boolean deadlineSet;
+    private volatile long deadline;
+
+    public SimulationControl() {
+        this(null);
+    }
+
+    private SimulationControl(SimulationControl parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Создает управление расчетом с ограничением времени выполнения
+     *
+     * @param timeout допустимое время выполнения, отсчитывается с момента вызова
+     * @return управление расчетом
+     */
+    public static SimulationControl withTimeout(Duration timeout) {
+        SimulationControl control = new SimulationControl();
+        control.deadline = System.nanoTime() + timeout.toNanos();
+        control.deadlineSet = true;
+        return control;
+    }
+
+    /**
+     * @return управление частью расчета (например, вариантом пакета), прерываемое вместе с текущим
+     */
+    public SimulationControl child() {
+        return new SimulationControl(this);
+    }
+
+    /**
+     * Задает общий объем работы и сбрасывает прогресс
+     *
+     * @param total общее количество единиц работы (точек сетки, узлов перебора)
+     */
+    public void start(long total) {
+        this.total = total;
+        completed.set(0);
+        checkpoint();
+    }
+
+    /**
+     * Сообщает о выполнении очередной порции работы и проверяет отмену
+     *
+     * @param units количество выполненных единиц работы
+     * @throws SimulationCancelledException если расчет отменен
+     */
+    public void advance(long units) {
+        completed.addAndGet(units);
+        checkpoint();
+    }
+
+    /**
+     * Проверяет отмену расчета и срок выполнения
+     *
+     * @throws SimulationCancelledException если расчет отменен или истек срок выполнения
+     */
+    public void checkpoint() {
+        CancellationReason reason = getCancellationReason();
+        if (reason != null) {
+            throw new SimulationCancelledException(reason);
+        }
+    }
+
+    /**
+     * Запрашивает отмену расчета. Расчет остановится на ближайшей проверке.
+     */
+    public void cancel() {
+        cancel(CancellationReason.CANCELLED);
+    }
+
+    /**
+     * Запрашивает прерывание расчета с указанной причиной; сохраняется первая причина
+     *
+     * @param reason причина прерывания
+     */
+    public synchronized void cancel(CancellationReason reason) {
+        if (cancellation == null) {
+            cancellation = reason;
+        }
+    }
+
+    public boolean isCancelled() {
+        return getCancellationReason() != null;
+    }
+
+    /**
+     * @return причина прерывания расчета (собственная или родительского управления) или null
+     */
+    public CancellationReason getCancellationReason() {
+        CancellationReason reason = cancellation;
+        if (reason == null && deadlineSet && System.nanoTime() - deadline >= 0) {
+            cancel(CancellationReason.DEADLINE_EXCEEDED);
+            reason = cancellation;
+        }
+        if (reason == null && parent != null) {
+            reason = parent.getCancellationReason();
+        }
+        return reason;
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return доля выполненной работы от 0 до 1
+     */
+    public double getProgress() {
+        long totalUnits = total;
+        return totalUnits > 0 ? Math.min(1.0, (double) completed.get() / totalUnits) : 0.0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Ядро расчета профилей температуры и вязкости по скомпилированному плану.
+ * Ядра не считают операции: подсчет выполняет {@link InstrumentedSimulationKernel} по запросу.
+ */
+public interface SimulationKernel {
+
+    /**
+     * Вычисляет точки сетки с номерами [from, to) и записывает их в колонки
+     * начиная с позиции offset
+     *
+     * @param plan план расчета
+     * @param from номер первой точки сетки
+     * @param to номер точки сетки, следующей за последней
+     * @param positions колонка координат z, м
+     * @param temperatures колонка температур T, °C
+     * @param viscosities колонка вязкостей η, Па·с
+     * @param offset позиция в колонках для первой точки
+     */
+    void evaluate(SimulationPlan plan, int from, int to,
+                  double[] positions, double[] temperatures, double[] viscosities, int offset);
+}
@@ -0,0 +1,200 @@
+package com.example.nonisothermicalflow.math.engine;
+
+import com.example.nonisothermicalflow.math.model.MathModel;
+import lombok.Getter;
+
+/**
+ * Неизменяемый план расчета неизотермического течения.
+ * Все величины, зависящие только от MathModel, вычисляются один раз при компиляции плана,
+ * так что в цикле по длине канала остаются только члены, зависящие от z:
+ * <pre>
+ *   χ(z) = A·(1 − exp(−k1·z)) + exp(c0 − c1·z)
+ *   T(z) = Tr + ln(χ) / b
+ *   η(z) = μ0·γ^(n−1)·exp(−b·(T − Tr)) = μ0·γ^(n−1) / χ
+ * </pre>
+ * План не хранит ссылку на исходную модель и может разделяться между потоками
+ * (пакетные расчеты, перебор параметров, кэш результатов).
+ */
+@Getter
+public final class SimulationPlan {
+
+    /** Количество операций при компиляции плана */
+    public static final long SETUP_OPERATIONS = 56;
+
+    /** Операции на одну точку профиля по видам: z, χ(z), T и η (см. {@link #chiAt}) */
+    public static final long POINT_MULTIPLICATIONS = 5;
+    public static final long POINT_ADDITIONS = 4;
+    public static final long POINT_DIVISIONS = 1;
+    public static final long POINT_EXPONENTS = 2;
+    public static final long POINT_LOGARITHMS = 1;
+
+    /** Количество операций на одну точку профиля */
+    public static final long POINT_OPERATIONS = POINT_MULTIPLICATIONS + POINT_ADDITIONS + POINT_DIVISIONS
+            + POINT_EXPONENTS + POINT_LOGARITHMS;
+
+    /** Наибольшее количество точек профиля, помещающееся в массив Java */
+    public static final int MAX_PROFILE_POINTS = Integer.MAX_VALUE - 8;
+
+    // Параметры сетки
+    private final double length;                // L, м
+    private final double step;                  // Δz, м
+    private final long stepsCount;              // Количество шагов
+
+    // Производные параметры модели
+    private final double shapeFactor;           // F
+    private final double flowRate;              // QCH, м³/с
+    private final double shearRate;             // γ, 1/с
+    private final double viscousHeat;           // qγ, Вт/м
+    private final double heatFlux;              // qα, Вт/м
+    private final double castingTemp;           // Tr, °C
+    private final double b;                     // Температурный коэффициент вязкости, 1/°C
+    private final double productivity;          // Q, кг/ч
+
+    // Инварианты цикла по z
+    private final double inverseB;              // 1/b
+    private final double thermalRatio;          // A = numerator1 / denominator1
+    private final double negativeDecayRate;     // −k1 = −denominator1 / denominator2
+    private final double entranceExponent;      // c0 = b·(T0 − Tr)
+    private final double entranceDecayRate;     // c1 = b·numerator2 / (z·denominator2)
+    private final double viscosityFactor;       // μ0·γ^(n−1)
+
+    private SimulationPlan(MathModel model) {
+        this.length = model.getLength();
+        this.step = model.getStep();
+
+        // 1. Расчет начальных параметров (как в исходной модели)
+        double ratio = model.getDepth() / model.getWidth();
+        this.shapeFactor = 0.125 * Math.pow(ratio, 2) - 0.625 * ratio + 1;
+        this.flowRate = (model.getDepth() * model.getWidth() * model.getCoverSpeed() / 2) * shapeFactor;
+        this.shearRate = model.getCoverSpeed() / model.getDepth();
+        this.viscousHeat = model.getDepth() * model.getWidth() * model.getMu0()
+                * Math.pow(shearRate, model.getFlowIndex() + 1);
+        this.heatFlux = model.getWidth() * model.getHeatTransfer() * model.getCoverTemp();
+
+        double averageTemp = (model.getMeltingTemp() + (model.getGlassTransitionTemp() + 100)) / 2;
+        double C2 = model.getSecondConstantVLF() + model.getCastingTemp() - model.getGlassTransitionTemp();
+        double C1 = (model.getFirstConstantVLF() * model.getSecondConstantVLF()) / C2;
+        this.castingTemp = model.getCastingTemp();
+        this.b = C1 / (C2 + (averageTemp - castingTemp));
+
+        this.stepsCount = Math.round(length / step);
+
+        // 2. Инварианты основного цикла
+        double numerator1 = b * viscousHeat + model.getWidth() * model.getHeatTransfer();
+        double denominator1 = model.getWidth() * (1 + b * castingTemp) * model.getHeatTransfer() - b * heatFlux;
+        double denominator2 = model.getDensity() * model.getHeatCapacity() * flowRate;
+
+        this.inverseB = 1 / b;
+        this.thermalRatio = numerator1 / denominator1;
+        this.negativeDecayRate = -(denominator1 / denominator2);
+        this.entranceExponent = b * (model.getMeltingTemp() - castingTemp);
+        this.entranceDecayRate = b * (model.getWidth() * ((inverseB + castingTemp) * model.getHeatTransfer() - heatFlux))
+                / denominator2;
+        this.viscosityFactor = model.getMu0() * Math.pow(shearRate, model.getFlowIndex() - 1);
+
+        // 3. Итоговые показатели, не зависящие от z
+        this.productivity = 3600 * model.getDensity() * flowRate;
+    }
+
+    /**
+     * Компилирует план расчета из параметров модели
+     *
+     * @param model модель с входными параметрами
+     * @return неизменяемый план расчета
+     */
+    public static SimulationPlan compile(MathModel model) {
+        return new SimulationPlan(model);
+    }
+
+    /**
+     * Количество операций расчета, выведенное из формул плана, а не подсчитанное в цикле
+     *
+     * @param points количество вычисленных точек профиля
+     * @return операции компиляции плана и вычисления точек
+     */
+    public static long operationsCount(long points) {
+        return SETUP_OPERATIONS + points * POINT_OPERATIONS;
+    }
+
+    /**
+     * @param index номер точки сетки
+     * @return координата z точки сетки, м
+     */
+    public double positionAt(long index) {
+        return index * step;
+    }
+
+    /**
+     * Количество точек профиля на равномерной сетке (stepsCount + 1).
+     * Выход канала и итоговые показатели от него не зависят (см. {@link #finalPosition()}),
+     * а полный профиль, его страницы и потоковая выдача адресуют точки индексом int.
+     *
+     * @return количество точек профиля
+     * @throws IllegalArgumentException если сетка не помещается в массив
+     */
+    public int getPointsCount() {
+        if (stepsCount < 0 || stepsCount >= MAX_PROFILE_POINTS) {
+            throw new IllegalArgumentException("Количество точек сетки превышает допустимое: L / Δz = "
+                    + stepsCount + ", не больше " + (MAX_PROFILE_POINTS - 1));
+        }
+        return (int) stepsCount + 1;
+    }
+
+    /**
+     * @return координата последней точки сетки (L, округленная до целого числа шагов), м;
+     * если шаг не задан, возвращается L. Вычисляется без ограничения размера сетки.
+     */
+    public double finalPosition() {
+        return outletPosition(length, step);
+    }
+
+    /**
+     * Координата выхода канала без компиляции плана (см. {@link #finalPosition()})
+     *
+     * @param length длина канала L, м
+     * @param step шаг расчета Δz, м
+     * @return round(L / Δz)·Δz или L, если шаг не задан, м
+     */
+    public static double outletPosition(double length, double step) {
+        return step > 0 ? Math.round(length / step) * step : length;
+    }
+
+    /**
+     * Вычисляет безразмерную функцию χ(z), через которую выражаются температура и вязкость
+     */
+    public double chiAt(double z) {
+        return thermalRatio * (1 - Math.exp(negativeDecayRate * z)) + Math.exp(entranceExponent - entranceDecayRate * z);
+    }
+
+    /**
+     * @param chi значение χ(z)
+     * @return температура T, °C
+     */
+    public double temperatureOf(double chi) {
+        return castingTemp + inverseB * Math.log(chi);
+    }
+
+    /**
+     * @param chi значение χ(z)
+     * @return вязкость η, Па·с
+     */
+    public double viscosityOf(double chi) {
+        return viscosityFactor / chi;
+    }
+
+    /**
+     * @param z координата вдоль канала, м
+     * @return температура T(z), °C
+     */
+    public double temperatureAt(double z) {
+        return temperatureOf(chiAt(z));
+    }
+
+    /**
+     * @param z координата вдоль канала, м
+     * @return вязкость η(z), Па·с
+     */
+    public double viscosityAt(double z) {
+        return viscosityOf(chiAt(z));
+    }
+}
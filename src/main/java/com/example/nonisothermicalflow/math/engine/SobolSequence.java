@@ -0,0 +1,118 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Последовательность Соболя в единичном гиперкубе размерности до {@value #MAX_DIMENSION}.
+ * Направляющие числа — таблица Джо–Куо (new-joe-kuo-6.21201), точки строятся в порядке кода Грея
+ * с 32-битной точностью. Для рандомизации используется цифровой сдвиг: координаты
+ * складываются по модулю 2 с постоянным случайным словом, что сохраняет равномерность
+ * последовательности и делает результат воспроизводимым по seed.
+ * <p>
+ * Генератор позволяет начать с произвольного номера точки, поэтому блоки точек
+ * могут строиться независимо в разных потоках.
+ */
+public final class SobolSequence {
+
+    /** Максимальная размерность последовательности */
+    public static final int MAX_DIMENSION = 16;
+
+    private static final int BITS = 32;
+    private static final double SCALE = 0x1.0p-32;
+
+    // Джо–Куо: степень s, коэффициенты a примитивного многочлена, начальные m_1..m_s для размерностей 2..16
+    private static final int[] DEGREES = {1, 2, 3, 3, 4, 4, 5, 5, 5, 5, 5, 5, 6, 6, 6};
+    private static final int[] POLYNOMIALS = {0, 1, 1, 2, 1, 4, 2, 4, 7, 11, 13, 14, 1, 13, 16};
+    private static final int[][] INITIAL_NUMBERS = {
+            {1},
+            {1, 3},
+            {1, 3, 1},
+            {1, 1, 1},
+            {1, 1, 3, 3},
+            {1, 3, 5, 13},
+            {1, 1, 5, 5, 17},
+            {1, 1, 5, 5, 5},
+            {1, 1, 7, 11, 19},
+            {1, 1, 5, 1, 1},
+            {1, 1, 1, 3, 11},
+            {1, 3, 5, 5, 31},
+            {1, 3, 3, 9, 7, 49},
+            {1, 1, 1, 15, 21, 21},
+            {1, 3, 1, 13, 27, 49}
+    };
+
+    private static final int[][] DIRECTIONS = directionNumbers();
+
+    private final int dimension;
+    private final int[] shift;
+    private final int[] state;
+    private long index;
+
+    /**
+     * @param dimension размерность точек
+     * @param shift слова цифрового сдвига по каждой координате (длина не меньше dimension)
+     * @param start номер первой точки
+     */
+    public SobolSequence(int dimension, int[] shift, long start) {
+        if (dimension < 1 || dimension > MAX_DIMENSION) {
+            throw new IllegalArgumentException("Размерность последовательности Соболя должна быть от 1 до " + MAX_DIMENSION);
+        }
+        this.dimension = dimension;
+        this.shift = shift;
+        this.state = new int[dimension];
+        this.index = start;
+        long gray = start ^ (start >>> 1);
+        for (int bit = 0; bit < BITS && gray != 0; bit++, gray >>>= 1) {
+            if ((gray & 1) != 0) {
+                for (int d = 0; d < dimension; d++) {
+                    state[d] ^= DIRECTIONS[d][bit];
+                }
+            }
+        }
+    }
+
+    /**
+     * Записывает очередную точку в point и переходит к следующей.
+     * Координаты лежат строго внутри (0, 1).
+     *
+     * @param point массив для координат точки
+     */
+    public void next(double[] point) {
+        for (int d = 0; d < dimension; d++) {
+            point[d] = ((Integer.toUnsignedLong(state[d] ^ shift[d])) + 0.5) * SCALE;
+        }
+        int bit = Long.numberOfTrailingZeros(~index);
+        if (bit >= BITS) {
+            throw new IllegalStateException("Исчерпана последовательность Соболя");
+        }
+        for (int d = 0; d < dimension; d++) {
+            state[d] ^= DIRECTIONS[d][bit];
+        }
+        index++;
+    }
+
+    private static int[][] directionNumbers() {
+        int[][] directions = new int[MAX_DIMENSION][BITS];
+        // Первая координата — последовательность ван дер Корпута
+        for (int bit = 0; bit < BITS; bit++) {
+            directions[0][bit] = 1 << (BITS - 1 - bit);
+        }
+        for (int d = 1; d < MAX_DIMENSION; d++) {
+            int degree = DEGREES[d - 1];
+            int polynomial = POLYNOMIALS[d - 1];
+            int[] initial = INITIAL_NUMBERS[d - 1];
+            int[] v = directions[d];
+            for (int bit = 0; bit < Math.min(degree, BITS); bit++) {
+                v[bit] = initial[bit] << (BITS - 1 - bit);
+            }
+            for (int bit = degree; bit < BITS; bit++) {
+                int value = v[bit - degree] ^ (v[bit - degree] >>> degree);
+                for (int k = 1; k < degree; k++) {
+                    if (((polynomial >>> (degree - 1 - k)) & 1) != 0) {
+                        value ^= v[bit - k];
+                    }
+                }
+                v[bit] = value;
+            }
+        }
+        return directions;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Получатель принятых шагов интегрирования.
+ * Принимает примитивы, поэтому вызов не выделяет память.
+ */
+@FunctionalInterface
+public interface StepObserver {
+
+    /**
+     * @param z координата конца принятого шага
+     * @param y значение решения в этой точке
+     */
+    void accept(double z, double y);
+}
@@ -0,0 +1,73 @@
+package com.example.nonisothermicalflow.math.engine;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD-ядро расчета профилей на основе Vector API (jdk.incubator.vector).
+ * Одновременно обрабатывает столько точек сетки, сколько дорожек double помещается
+ * в предпочтительный вектор платформы; остаток диапазона считается скалярно.
+ * <p>
+ * Координаты z совпадают со скалярным ядром побитово, арифметика выполняется в том же порядке.
+ * Отличаются только реализации exp/log (VectorOperators.EXP/LOG против Math.exp/Math.log),
+ * каждая из которых дает ошибку не более 1 ulp. Допуск относительно {@link ScalarSimulationKernel}:
+ * <pre>
+ *   |Δχ| ≤ {@value #CHI_ULP_TOLERANCE}·ulp(|A| + exp(c0 − c1·z))
+ *   |ΔT| ≈ |Δχ| / (b·χ),   |Δη| / η ≈ |Δχ| / χ
+ * </pre>
+ * Для типовых режимов (χ порядка |A|) это единицы ulp по T и десятки ulp по η.
+ * Если A·(1 − exp(−k1·z)) и exp(c0 − c1·z) почти взаимно уничтожаются, расхождение в ulp
+ * растет пропорционально обусловленности χ, одинаково плохой для обоих ядер.
+ */
+public class VectorSimulationKernel implements SimulationKernel {
+
+    /** Допустимое расхождение χ со скалярным ядром, ulp от |A| + exp(c0 − c1·z) */
+    public static final int CHI_ULP_TOLERANCE = 2;
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final double[] LANE_INDEXES = laneIndexes();
+
+    private final ScalarSimulationKernel tail = new ScalarSimulationKernel();
+
+    @Override
+    public void evaluate(SimulationPlan plan, int from, int to,
+                         double[] positions, double[] temperatures, double[] viscosities, int offset) {
+        double step = plan.getStep();
+        DoubleVector lanes = DoubleVector.fromArray(SPECIES, LANE_INDEXES, 0);
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.0);
+        DoubleVector thermalRatio = DoubleVector.broadcast(SPECIES, plan.getThermalRatio());
+        DoubleVector negativeDecayRate = DoubleVector.broadcast(SPECIES, plan.getNegativeDecayRate());
+        DoubleVector entranceExponent = DoubleVector.broadcast(SPECIES, plan.getEntranceExponent());
+        DoubleVector entranceDecayRate = DoubleVector.broadcast(SPECIES, plan.getEntranceDecayRate());
+        DoubleVector castingTemp = DoubleVector.broadcast(SPECIES, plan.getCastingTemp());
+        DoubleVector inverseB = DoubleVector.broadcast(SPECIES, plan.getInverseB());
+        DoubleVector viscosityFactor = DoubleVector.broadcast(SPECIES, plan.getViscosityFactor());
+
+        int length = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        int i = from;
+        int j = offset;
+        for (; i < upper; i += length, j += length) {
+            DoubleVector z = lanes.add(i).mul(step);
+            DoubleVector decay = z.mul(negativeDecayRate).lanewise(VectorOperators.EXP);
+            DoubleVector entrance = entranceExponent.sub(z.mul(entranceDecayRate)).lanewise(VectorOperators.EXP);
+            DoubleVector chi = thermalRatio.mul(one.sub(decay)).add(entrance);
+
+            z.intoArray(positions, j);
+            castingTemp.add(inverseB.mul(chi.lanewise(VectorOperators.LOG))).intoArray(temperatures, j);
+            viscosityFactor.div(chi).intoArray(viscosities, j);
+        }
+
+        tail.evaluate(plan, i, to, positions, temperatures, viscosities, j);
+    }
+
+    private static double[] laneIndexes() {
+        double[] indexes = new double[SPECIES.length()];
+        for (int lane = 0; lane < indexes.length; lane++) {
+            indexes[lane] = lane;
+        }
+        return indexes;
+    }
+}
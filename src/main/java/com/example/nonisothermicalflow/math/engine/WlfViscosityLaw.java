@@ -0,0 +1,40 @@
+package com.example.nonisothermicalflow.math.engine;
+
+/**
+ * Закон вязкости Вильямса–Лэндела–Ферри, приведенный к температуре Tr:
+ * <pre>
+ *   μ(T) = μ0·exp(−C1·(T − Tr) / (C2 + T − Tr)),
+ *   C2 = C2,g + Tr − Tg,   C1 = C1,g·C2,g / C2
+ * </pre>
+ * Замкнутое решение использует линеаризацию этого закона (коэффициент b).
+ * При T ≤ Tr − C2 закон неприменим, вязкость равна NaN.
+ */
+public class WlfViscosityLaw implements PropertyLaw {
+
+    private final double mu0;
+    private final double c1;
+    private final double c2;
+    private final double castingTemp;
+
+    /**
+     * @param mu0 коэффициент консистенции при Tr, Па·с^n
+     * @param firstConstant C1,g
+     * @param secondConstant C2,g, °C
+     * @param glassTransitionTemp температура стеклования Tg, °C
+     * @param castingTemp температура приведения Tr, °C
+     */
+    public WlfViscosityLaw(double mu0, double firstConstant, double secondConstant,
+                           double glassTransitionTemp, double castingTemp) {
+        this.mu0 = mu0;
+        this.c2 = secondConstant + castingTemp - glassTransitionTemp;
+        this.c1 = firstConstant * secondConstant / c2;
+        this.castingTemp = castingTemp;
+    }
+
+    @Override
+    public double valueAt(double temperature) {
+        double shift = temperature - castingTemp;
+        double denominator = c2 + shift;
+        return denominator > 0 ? mu0 * Math.exp(-c1 * shift / denominator) : Double.NaN;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.nonisothermicalflow.math.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат расчета одного варианта в пакетном запросе.
+ * Заполняется либо result, либо error.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    private int index;                   // Номер варианта в запросе
+    private ResultModel result;          // Результаты расчета
+    private String error;                // Сообщение об ошибке расчета варианта
+
+    public static BatchItemResult success(int index, ResultModel result) {
+        return new BatchItemResult(index, result, null);
+    }
+
+    public static BatchItemResult failure(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+}
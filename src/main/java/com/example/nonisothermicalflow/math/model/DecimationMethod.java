@@ -0,0 +1,11 @@
+package com.example.nonisothermicalflow.math.model;
+
+/**
+ * Алгоритм прореживания профиля до заданного количества точек
+ */
+public enum DecimationMethod {
+    /** Largest-Triangle-Three-Buckets: сохраняет визуальную форму кривой */
+    LTTB,
+    /** Минимум и максимум температуры в каждом интервале: сохраняет экстремумы */
+    MIN_MAX
+}
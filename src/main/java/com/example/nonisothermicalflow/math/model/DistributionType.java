@@ -0,0 +1,10 @@
+package com.example.nonisothermicalflow.math.model;
+
+/**
+ * Закон распределения неопределенного параметра модели
+ */
+public enum DistributionType {
+    NORMAL,      // Нормальное: mean, stdDev
+    LOGNORMAL,   // Логнормальное с заданными mean и stdDev самого параметра (mean > 0)
+    UNIFORM      // Равномерное на [lower, upper]
+}
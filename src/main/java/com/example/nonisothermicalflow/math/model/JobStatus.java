@@ -0,0 +1,19 @@
+package com.example.nonisothermicalflow.math.model;
+
+/**
+ * Состояние асинхронной задачи моделирования
+ */
+public enum JobStatus {
+    QUEUED,      // Ожидает свободного потока
+    RUNNING,     // Выполняется
+    COMPLETED,   // Завершена, результат доступен
+    FAILED,      // Завершена с ошибкой
+    CANCELLED;   // Отменена пользователем
+
+    /**
+     * @return true, если задача завершена и ее состояние больше не изменится
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
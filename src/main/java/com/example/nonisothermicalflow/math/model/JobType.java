@@ -0,0 +1,10 @@
+package com.example.nonisothermicalflow.math.model;
+
+/**
+ * Вид расчета, выполняемого асинхронной задачей
+ */
+public enum JobType {
+    SIMULATION,  // Расчет профилей для одной модели
+    SWEEP,       // Перебор параметров модели
+    UNCERTAINTY  // Распространение неопределенности параметров
+}
@@ -0,0 +1,11 @@
+package com.example.nonisothermicalflow.math.model;
+
+/**
+ * Тип вычислительного ядра для расчета профилей
+ */
+public enum KernelType {
+    /** Скалярное ядро (Math.exp/Math.log по одной точке) */
+    SCALAR,
+    /** SIMD-ядро на основе Vector API */
+    VECTOR
+}
@@ -0,0 +1,22 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Запрос на сравнение материалов: список материалов из базы и общие геометрия и режим процесса
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialComparisonRequest {
+    private List<UUID> materialIds;              // Сравниваемые материалы
+    private MaterialSimulationRequest process;   // Геометрия канала, режим процесса и шаг, общие для всех материалов
+    private Integer maxPoints;                   // Максимальное количество точек общей сетки z (по умолчанию без ограничения)
+}
@@ -0,0 +1,30 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Результаты сравнения материалов.
+ * Профили всех материалов вычислены на общей сетке positions: i-я колонка temperatures и viscosities
+ * и i-е значения скалярных показателей относятся к материалу materialIds[i].
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialComparisonResult {
+    private List<UUID> materialIds;              // Материалы в порядке запроса
+    private List<String> materialNames;          // Названия материалов
+    private double[] positions;                  // Общая сетка z, м
+
+    private List<double[]> temperatures;         // T, °C, по колонке на материал
+    private List<double[]> viscosities;          // η, Па·с, по колонке на материал
+
+    private double[] productivity;               // Q, кг/ч
+    private double[] finalTemperature;           // Tp, °C
+    private double[] finalViscosity;             // ηp, Па·с
+    private double calculationTime;              // Время расчета, мс
+}
@@ -0,0 +1,107 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Неизменяемый снимок параметров материала для расчета: свойства и эмпирические коэффициенты,
+ * найденные по стабильным кодам (имена полей MathModel), уже разложены по полям модели-шаблона.
+ * Для расчета шаблон копируется и дополняется геометрией и режимом из запроса.
+ */
+public final class MaterialParameters {
+
+    /** Параметры MathModel, которые берутся из базы материалов */
+    public static final List<ModelParameter> MATERIAL_PARAMETERS = List.of(
+            ModelParameter.DENSITY, ModelParameter.HEAT_CAPACITY,
+            ModelParameter.GLASS_TRANSITION_TEMP, ModelParameter.MELTING_TEMP,
+            ModelParameter.MU0, ModelParameter.FIRST_CONSTANT_VLF, ModelParameter.SECOND_CONSTANT_VLF,
+            ModelParameter.CASTING_TEMP, ModelParameter.FLOW_INDEX, ModelParameter.HEAT_TRANSFER);
+
+    private static final Map<String, ModelParameter> CODES = codes();
+
+    @Getter
+    private final UUID materialId;
+    @Getter
+    private final String materialName;
+    @Getter
+    private final List<ModelParameter> missingParameters;
+    private final MathModel template;
+
+    private MaterialParameters(UUID materialId, String materialName, MathModel template,
+                               List<ModelParameter> missingParameters) {
+        this.materialId = materialId;
+        this.materialName = materialName;
+        this.template = template;
+        this.missingParameters = missingParameters;
+    }
+
+    /**
+     * Компилирует снимок из значений, найденных по кодам
+     *
+     * @param materialId ID материала
+     * @param materialName название материала
+     * @param values значения параметров материала (коды без соответствия уже отброшены)
+     * @return снимок параметров материала
+     */
+    public static MaterialParameters compile(UUID materialId, String materialName, Map<ModelParameter, Double> values) {
+        MathModel template = new MathModel();
+        List<ModelParameter> missing = new ArrayList<>();
+        for (ModelParameter parameter : MATERIAL_PARAMETERS) {
+            Double value = values.get(parameter);
+            if (value == null) {
+                missing.add(parameter);
+            } else {
+                parameter.set(template, value);
+            }
+        }
+        return new MaterialParameters(materialId, materialName, template, Collections.unmodifiableList(missing));
+    }
+
+    /**
+     * Находит параметр материала по стабильному коду свойства или коэффициента
+     *
+     * @param code код из базы материалов (имя поля MathModel)
+     * @return параметр модели или null, если код не относится к параметрам материала
+     */
+    public static ModelParameter parameterOf(String code) {
+        return CODES.get(code);
+    }
+
+    /**
+     * @return true, если в базе заданы все параметры материала
+     */
+    public boolean isComplete() {
+        return missingParameters.isEmpty();
+    }
+
+    /**
+     * Строит модель для расчета: параметры материала из снимка, геометрия и режим из запроса
+     *
+     * @param request геометрия, режим процесса и шаг расчета
+     * @return новая модель, не разделяемая со снимком
+     */
+    public MathModel toModel(MaterialSimulationRequest request) {
+        MathModel model = template.copy();
+        model.setWidth(request.getWidth());
+        model.setDepth(request.getDepth());
+        model.setLength(request.getLength());
+        model.setCoverSpeed(request.getCoverSpeed());
+        model.setCoverTemp(request.getCoverTemp());
+        model.setStep(request.getStep());
+        return model;
+    }
+
+    private static Map<String, ModelParameter> codes() {
+        Map<String, ModelParameter> codes = new HashMap<>();
+        for (ModelParameter parameter : MATERIAL_PARAMETERS) {
+            codes.put(parameter.getFieldName(), parameter);
+        }
+        return Map.copyOf(codes);
+    }
+}
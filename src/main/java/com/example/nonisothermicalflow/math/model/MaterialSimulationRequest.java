@@ -0,0 +1,28 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Запрос расчета для материала из базы: только геометрия канала, режим процесса и шаг.
+ * Свойства материала и эмпирические коэффициенты подставляются на сервере.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialSimulationRequest {
+    // Геометрические параметры канала
+    private double width;                       // Ширина канала (W), м
+    private double depth;                       // Глубина канала (H), м
+    private double length;                      // Длина канала (L), м
+
+    // Режимные параметры процесса
+    private double coverSpeed;                   // Скорость крышки (Vu), м/с
+    private double coverTemp;                    // Температура крышки (Tu), °C
+
+    // Параметры метода решения
+    private double step;                         // Шаг расчета (Δz), м
+}
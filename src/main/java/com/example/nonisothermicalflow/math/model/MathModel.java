@@ -38,4 +38,17 @@ public class MathModel {
 
     // Параметры метода решения
     private double step;                         // Шаг расчета (Δz), м
+
+    /**
+     * Создает независимую копию модели
+     *
+     * @return копия модели
+     */
+    public MathModel copy() {
+        MathModel copy = new MathModel();
+        for (ModelParameter parameter : ModelParameter.values()) {
+            parameter.set(copy, parameter.get(this));
+        }
+        return copy;
+    }
 }
\ No newline at end of file
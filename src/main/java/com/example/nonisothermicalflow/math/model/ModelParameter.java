@@ -0,0 +1,69 @@
+package com.example.nonisothermicalflow.math.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Числовые параметры MathModel, доступные для перебора, оптимизации и анализа.
+ * В JSON параметр задается именем поля MathModel (например, "coverSpeed").
+ */
+public enum ModelParameter {
+    WIDTH("width", MathModel::getWidth, MathModel::setWidth),
+    DEPTH("depth", MathModel::getDepth, MathModel::setDepth),
+    LENGTH("length", MathModel::getLength, MathModel::setLength),
+    DENSITY("density", MathModel::getDensity, MathModel::setDensity),
+    HEAT_CAPACITY("heatCapacity", MathModel::getHeatCapacity, MathModel::setHeatCapacity),
+    GLASS_TRANSITION_TEMP("glassTransitionTemp", MathModel::getGlassTransitionTemp, MathModel::setGlassTransitionTemp),
+    MELTING_TEMP("meltingTemp", MathModel::getMeltingTemp, MathModel::setMeltingTemp),
+    COVER_SPEED("coverSpeed", MathModel::getCoverSpeed, MathModel::setCoverSpeed),
+    COVER_TEMP("coverTemp", MathModel::getCoverTemp, MathModel::setCoverTemp),
+    MU0("mu0", MathModel::getMu0, MathModel::setMu0),
+    FIRST_CONSTANT_VLF("firstConstantVLF", MathModel::getFirstConstantVLF, MathModel::setFirstConstantVLF),
+    SECOND_CONSTANT_VLF("secondConstantVLF", MathModel::getSecondConstantVLF, MathModel::setSecondConstantVLF),
+    CASTING_TEMP("castingTemp", MathModel::getCastingTemp, MathModel::setCastingTemp),
+    FLOW_INDEX("flowIndex", MathModel::getFlowIndex, MathModel::setFlowIndex),
+    HEAT_TRANSFER("heatTransfer", MathModel::getHeatTransfer, MathModel::setHeatTransfer),
+    STEP("step", MathModel::getStep, MathModel::setStep);
+
+    private final String fieldName;
+    private final ToDoubleFunction<MathModel> getter;
+    private final ObjDoubleConsumer<MathModel> setter;
+
+    ModelParameter(String fieldName, ToDoubleFunction<MathModel> getter, ObjDoubleConsumer<MathModel> setter) {
+        this.fieldName = fieldName;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    @JsonValue
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public double get(MathModel model) {
+        return getter.applyAsDouble(model);
+    }
+
+    public void set(MathModel model, double value) {
+        setter.accept(model, value);
+    }
+
+    /**
+     * Находит параметр по имени поля MathModel или по имени константы
+     *
+     * @param name имя параметра
+     * @return параметр модели
+     */
+    @JsonCreator
+    public static ModelParameter fromName(String name) {
+        for (ModelParameter parameter : values()) {
+            if (parameter.fieldName.equalsIgnoreCase(name) || parameter.name().equalsIgnoreCase(name)) {
+                return parameter;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный параметр модели: " + name);
+    }
+}
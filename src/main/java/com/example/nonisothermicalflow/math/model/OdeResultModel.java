@@ -0,0 +1,32 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результаты численного решения уравнения энергии.
+ * Профили содержат только принятые шаги интегратора, поэтому сетка неравномерна.
+ * Отклонение от замкнутого решения показывает погрешность линеаризации
+ * и влияние законов свойств, отличных от принятых в замкнутом решении.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OdeResultModel {
+    private double[] positions;                  // z, м
+    private double[] temperatures;               // T, °C
+    private double[] viscosities;                // η, Па·с
+
+    private double productivity;                 // Q, кг/ч
+    private double finalTemperature;             // Tp, °C
+    private double finalViscosity;               // ηp, Па·с
+    private double calculationTime;              // Время расчета, мс
+
+    private int acceptedSteps;                   // Принятые шаги интегратора
+    private int rejectedSteps;                   // Отвергнутые шаги интегратора
+    private long evaluationsCount;               // Вычисления правой части уравнения
+
+    private double closedFormFinalTemperature;   // Tp по замкнутому решению, °C
+    private double maxTemperatureDeviation;      // max|T − Tзамкн| по принятым шагам, °C
+}
@@ -0,0 +1,23 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Запрос на численное решение уравнения энергии.
+ * Плотность и теплоемкость модели считаются значениями при Tr и могут линейно зависеть от температуры.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OdeSimulationRequest {
+    private MathModel model;                             // Параметры модели
+    private ViscosityLawType viscosityLaw;               // Закон вязкости (по умолчанию EXPONENTIAL)
+    private double densitySlope;                         // dρ/dT, кг/(м³·°C)
+    private double heatCapacitySlope;                    // dc/dT, Дж/(кг·°C²)
+    private Double relativeTolerance;                    // Относительный допуск на шаге (по умолчанию 1e-8)
+    private Double absoluteTolerance;                    // Абсолютный допуск на шаге, °C (по умолчанию 1e-8)
+}
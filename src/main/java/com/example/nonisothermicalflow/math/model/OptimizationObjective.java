@@ -0,0 +1,9 @@
+package com.example.nonisothermicalflow.math.model;
+
+/**
+ * Целевая функция оптимизации режима
+ */
+public enum OptimizationObjective {
+    MAXIMIZE_PRODUCTIVITY,       // Максимум производительности Q
+    MINIMIZE_FINAL_VISCOSITY     // Минимум вязкости на выходе ηp
+}
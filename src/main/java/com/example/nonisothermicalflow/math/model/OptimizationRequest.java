@@ -0,0 +1,32 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Запрос на поиск оптимального режима: базовая модель, варьируемые параметры,
+ * целевая функция и ограничения на показатели на выходе канала.
+ * Незаданные ограничения не проверяются.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizationRequest {
+    private MathModel base;                              // Значения неварьируемых параметров
+    private List<OptimizationVariable> variables;        // Варьируемые параметры с границами
+    private OptimizationObjective objective;             // Целевая функция (по умолчанию MAXIMIZE_PRODUCTIVITY)
+
+    private Double minFinalTemperature;                  // Нижняя граница Tp, °C
+    private Double maxFinalTemperature;                  // Верхняя граница Tp, °C
+    private Double minFinalViscosity;                    // Нижняя граница ηp, Па·с
+    private Double maxFinalViscosity;                    // Верхняя граница ηp, Па·с
+
+    private Integer populationSize;                      // Размер популяции (по умолчанию max(20, 10·d))
+    private Integer maxGenerations;                      // Количество поколений (по умолчанию 200)
+    private Long seed;                                   // Начальное значение генератора для воспроизводимости
+}
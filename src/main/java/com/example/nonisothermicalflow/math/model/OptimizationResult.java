@@ -0,0 +1,32 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Результат оптимизации режима: лучшая найденная точка и показатели в ней.
+ * Если ни одна точка не удовлетворяет ограничениям, feasible = false,
+ * а возвращается точка с наименьшим нарушением ограничений.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizationResult {
+    private OptimizationObjective objective;     // Целевая функция
+    private List<ModelParameter> parameters;     // Варьируемые параметры
+    private double[] values;                     // Оптимальные значения параметров (в порядке parameters)
+    private MathModel model;                     // Модель с оптимальными значениями
+
+    private double productivity;                 // Q, кг/ч
+    private double finalTemperature;             // Tp, °C
+    private double finalViscosity;               // ηp, Па·с
+    private boolean feasible;                    // Ограничения выполнены
+    private double constraintViolation;          // Суммарное нарушение ограничений
+
+    private int generations;                     // Выполнено поколений
+    private long evaluations;                    // Вычислено вариантов
+    private double calculationTime;              // Время расчета, мс
+}
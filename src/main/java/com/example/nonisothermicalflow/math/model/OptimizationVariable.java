@@ -0,0 +1,19 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Варьируемый параметр модели и его допустимые границы
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizationVariable {
+    private ModelParameter parameter;            // Варьируемый параметр
+    private double lower;                        // Нижняя граница
+    private double upper;                        // Верхняя граница
+}
@@ -0,0 +1,18 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Запрос на расчет температуры и вязкости только в заданных точках канала
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointQueryRequest {
+    private MathModel model;                     // Параметры модели
+    private double[] positions;                  // Координаты z точек, м (от 0 до L)
+}
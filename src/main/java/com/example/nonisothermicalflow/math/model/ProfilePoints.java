@@ -0,0 +1,23 @@
+package com.example.nonisothermicalflow.math.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Значения профиля в выбранных точках: произвольные координаты или страница равномерной сетки.
+ * Для страницы заполняются offset и totalPoints.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProfilePoints {
+    private double[] positions;           // z, м
+    private double[] temperatures;        // T, °C
+    private double[] viscosities;         // η, Па·с
+    private Integer offset;               // Номер первой точки страницы на сетке
+    private Integer totalPoints;          // Количество точек полной сетки
+    private double calculationTime;       // Время расчета, мс
+}
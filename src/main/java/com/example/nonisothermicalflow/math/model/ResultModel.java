@@ -1,25 +1,46 @@
 package com.example.nonisothermicalflow.math.model;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.NoArgsConstructor;
 import lombok.Getter;
-import java.util.List;
+import lombok.Setter;
 
 /**
- * Модель для хранения результатов расчета неизотермического течения
+ * Модель для хранения результатов расчета неизотермического течения.
+ * Профили хранятся колонками примитивов double[] заранее известного размера:
+ * Jackson записывает такие массивы напрямую, без упаковки каждой точки в Double.
  */
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 public class ResultModel {
-    private List<Double> positions;       // z, м
-    private List<Double> temperatures;    // T, °C
-    private List<Double> viscosities;     // η, Па·с
+    private double[] positions;           // z, м
+    private double[] temperatures;        // T, °C
+    private double[] viscosities;         // η, Па·с
 
     private double productivity;         // Q, кг/ч
     private double finalTemperature;     // Tp, °C
     private double finalViscosity;       // ηp, Па·с
-    private long calculationTime;        // Время расчета, мс
-    private long operationsCount;        // Количество математических операций
-    private long memoryUsage;            // Использованная память, байт
+    private double calculationTime;      // Время расчета, мс (с точностью до наносекунд)
+    private long operationsCount;        // Количество математических операций (0, если подсчет не запрошен)
+    private long memoryUsage;            // Память, выделенная потоком расчета, байт
+    private long computedPoints;         // Количество вычисленных точек сетки (до прореживания)
+
+    @Setter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SensitivityReport sensitivities; // Чувствительности итоговых показателей (по запросу)
+
+    public ResultModel(double[] positions, double[] temperatures, double[] viscosities,
+                       double productivity, double finalTemperature, double finalViscosity,
+                       double calculationTime, long operationsCount, long memoryUsage, long computedPoints) {
+        this.positions = positions;
+        this.temperatures = temperatures;
+        this.viscosities = viscosities;
+        this.productivity = productivity;
+        this.finalTemperature = finalTemperature;
+        this.finalViscosity = finalViscosity;
+        this.calculationTime = calculationTime;
+        this.operationsCount = operationsCount;
+        this.memoryUsage = memoryUsage;
+        this.computedPoints = computedPoints;
+    }
 }
\ No newline at end of file
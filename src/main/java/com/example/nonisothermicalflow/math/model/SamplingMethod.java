@@ -0,0 +1,9 @@
+package com.example.nonisothermicalflow.math.model;
+
+/**
+ * Способ построения выборки при распространении неопределенности
+ */
+public enum SamplingMethod {
+    SOBOL,       // Квази-Монте-Карло: последовательность Соболя с цифровым сдвигом
+    RANDOM       // Монте-Карло: псевдослучайные числа
+}
@@ -0,0 +1,29 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Чувствительности итоговых показателей к параметрам модели.
+ * Массивы упорядочены так же, как parameters. Производные имеют размерность
+ * показателя на единицу параметра, эластичности p/f·∂f/∂p безразмерны и позволяют
+ * сравнивать влияние параметров разной природы.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensitivityReport {
+    private List<ModelParameter> parameters;         // Параметры модели
+    private double[] values;                         // Значения параметров
+
+    private double[] productivity;                   // ∂Q/∂p
+    private double[] finalTemperature;               // ∂Tp/∂p
+    private double[] finalViscosity;                 // ∂ηp/∂p
+
+    private double[] productivityElasticity;         // p/Q·∂Q/∂p
+    private double[] finalTemperatureElasticity;     // p/Tp·∂Tp/∂p
+    private double[] finalViscosityElasticity;       // p/ηp·∂ηp/∂p
+}
@@ -0,0 +1,23 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Статистика кэша результатов моделирования
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationCacheStats {
+    private long hitCount;               // Количество попаданий
+    private long missCount;              // Количество промахов
+    private long evictionCount;          // Количество вытесненных результатов
+    private long evictionWeight;         // Суммарный вес вытесненных результатов, точек профиля
+    private long estimatedSize;          // Количество результатов в кэше
+    private long weightedSize;           // Суммарный вес результатов в кэше, точек профиля
+    private long maximumWeight;          // Максимальный вес кэша, точек профиля
+    private double hitRate;              // Доля попаданий
+    private long coalescedCount;         // Запросы, присоединенные к уже выполняемому расчету
+}
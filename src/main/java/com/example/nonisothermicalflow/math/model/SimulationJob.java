@@ -0,0 +1,96 @@
+package com.example.nonisothermicalflow.math.model;
+
+import com.example.nonisothermicalflow.math.engine.SimulationControl;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Асинхронная задача моделирования.
+ * Состояние меняется потоком исполнителя и читается потоками запросов, поэтому
+ * изменяемые поля объявлены volatile, а переходы между состояниями синхронизированы.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SimulationJob {
+    private final UUID id;                          // Идентификатор задачи
+    private final JobType type;                     // Вид расчета
+    @JsonIgnore
+    private final String owner;                     // Имя пользователя, создавшего задачу
+    @JsonIgnore
+    private final SimulationControl control;        // Прогресс и отмена расчета
+    private final Instant createdAt;                // Время постановки в очередь
+    private volatile JobStatus status;              // Состояние задачи
+    private volatile Instant startedAt;             // Время начала расчета
+    private volatile Instant finishedAt;            // Время завершения
+    private volatile String error;                  // Сообщение об ошибке
+    @JsonIgnore
+    private volatile Object result;                 // ResultModel, SweepResult или UncertaintyResult
+
+    public SimulationJob(JobType type, String owner) {
+        this.id = UUID.randomUUID();
+        this.type = type;
+        this.owner = owner;
+        this.control = new SimulationControl();
+        this.createdAt = Instant.now();
+        this.status = JobStatus.QUEUED;
+    }
+
+    /**
+     * @return доля выполненной работы от 0 до 1
+     */
+    public double getProgress() {
+        return status == JobStatus.COMPLETED ? 1.0 : control.getProgress();
+    }
+
+    /**
+     * Переводит задачу в состояние RUNNING, если она еще не отменена
+     *
+     * @return true, если расчет нужно начинать
+     */
+    public synchronized boolean markRunning() {
+        if (status != JobStatus.QUEUED) {
+            return false;
+        }
+        status = JobStatus.RUNNING;
+        startedAt = Instant.now();
+        return true;
+    }
+
+    public synchronized void markCompleted(Object result) {
+        if (status == JobStatus.RUNNING) {
+            this.result = result;
+            finish(JobStatus.COMPLETED);
+        }
+    }
+
+    public synchronized void markFailed(String error) {
+        if (status == JobStatus.RUNNING) {
+            this.error = error;
+            finish(JobStatus.FAILED);
+        }
+    }
+
+    /**
+     * Отменяет задачу. Задача в очереди отменяется сразу,
+     * выполняющийся расчет остановится на ближайшей проверке отмены.
+     *
+     * @return false, если задача уже завершена
+     */
+    public synchronized boolean cancel() {
+        if (status.isFinished()) {
+            return false;
+        }
+        control.cancel();
+        finish(JobStatus.CANCELLED);
+        return true;
+    }
+
+    private void finish(JobStatus finalStatus) {
+        status = finalStatus;
+        finishedAt = Instant.now();
+    }
+}
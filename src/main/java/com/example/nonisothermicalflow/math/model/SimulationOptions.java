@@ -0,0 +1,31 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Параметры выполнения расчета, передаваемые в строке запроса.
+ * Не влияют на физическую модель, только на способ расчета и форму результата.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+public class SimulationOptions {
+    private KernelType kernel;                   // Вычислительное ядро (по умолчанию из конфигурации)
+    private Integer maxPoints;                   // Максимальное количество точек профиля в ответе
+    private DecimationMethod decimation;         // Алгоритм прореживания (по умолчанию LTTB)
+    private Double temperatureTolerance;         // Допуск адаптивной выборки по T, °C
+    private Double viscosityTolerance;           // Относительный допуск адаптивной выборки по η
+    private boolean sensitivities;               // Вычислить чувствительности к параметрам модели
+    private boolean instrumented;                // Подсчитать математические операции (operationsCount)
+
+    /**
+     * @return true, если задан хотя бы один допуск и профиль строится адаптивной выборкой
+     */
+    public boolean isAdaptive() {
+        return temperatureTolerance != null || viscosityTolerance != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Итоговые показатели моделирования без профилей.
+ * Совпадают с соответствующими полями ResultModel для той же модели.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationSummary {
+    private double productivity;         // Q, кг/ч
+    private double finalTemperature;     // Tp, °C
+    private double finalViscosity;       // ηp, Па·с
+    private double finalPosition;        // z выхода канала (L, округленная до целого числа шагов), м
+    private double calculationTime;      // Время расчета, мс
+}
@@ -0,0 +1,28 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Диапазон перебора одного параметра модели: count равномерно распределенных значений от from до to
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepRange {
+    private ModelParameter parameter;            // Перебираемый параметр
+    private double from;                         // Начальное значение
+    private double to;                           // Конечное значение
+    private int count;                           // Количество значений (>= 1)
+
+    /**
+     * @param index номер значения в диапазоне
+     * @return значение параметра
+     */
+    public double valueAt(int index) {
+        return count == 1 ? from : from + (to - from) * index / (count - 1);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Запрос на перебор параметров: базовая модель и диапазоны перебираемых параметров
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepRequest {
+    private MathModel base;                      // Базовые значения всех параметров
+    private List<SweepRange> ranges;             // Диапазоны перебора (декартово произведение)
+}
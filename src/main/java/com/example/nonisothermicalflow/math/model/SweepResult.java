@@ -0,0 +1,27 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Результаты перебора параметров.
+ * Скалярные показатели хранятся колонками по узлам сетки в построчном порядке:
+ * значение последнего диапазона меняется быстрее всего.
+ * Для узлов с некорректными параметрами показатели равны NaN.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepResult {
+    private List<ModelParameter> parameters;     // Перебираемые параметры
+    private List<double[]> axes;                 // Значения каждого параметра
+    private int pointsCount;                     // Количество узлов сетки
+
+    private double[] productivity;               // Q, кг/ч
+    private double[] finalTemperature;           // Tp, °C
+    private double[] finalViscosity;             // ηp, Па·с
+    private double calculationTime;              // Время расчета, мс
+}
@@ -0,0 +1,40 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Параметр модели с неопределенностью и его распределение
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UncertainParameter {
+    private ModelParameter parameter;            // Параметр модели
+    private DistributionType distribution;       // Закон распределения (по умолчанию NORMAL)
+    private double mean;                         // Среднее (NORMAL, LOGNORMAL)
+    private double stdDev;                       // Стандартное отклонение (NORMAL, LOGNORMAL)
+    private double lower;                        // Нижняя граница (UNIFORM)
+    private double upper;                        // Верхняя граница (UNIFORM)
+
+    /**
+     * Преобразует равномерно распределенное число в значение параметра
+     *
+     * @param u число из интервала (0, 1)
+     * @param normal квантиль стандартного нормального распределения для u
+     * @return значение параметра
+     */
+    public double sample(double u, double normal) {
+        return switch (distribution != null ? distribution : DistributionType.NORMAL) {
+            case NORMAL -> mean + stdDev * normal;
+            case LOGNORMAL -> {
+                double variance = Math.log1p((stdDev * stdDev) / (mean * mean));
+                yield Math.exp(Math.log(mean) - variance / 2 + Math.sqrt(variance) * normal);
+            }
+            case UNIFORM -> lower + u * (upper - lower);
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Запрос на распространение неопределенности параметров модели на профили T(z) и η(z)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UncertaintyRequest {
+    private MathModel base;                          // Значения параметров без неопределенности
+    private List<UncertainParameter> parameters;     // Параметры с неопределенностью
+    private int samples;                             // Количество вариантов
+    private Integer gridPoints;                      // Количество точек профиля от 0 до L (по умолчанию 101)
+    private SamplingMethod sampling;                 // Способ выборки (по умолчанию SOBOL)
+    private Long seed;                               // Начальное значение генератора для воспроизводимости
+}
@@ -0,0 +1,35 @@
+package com.example.nonisothermicalflow.math.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Статистика профилей по выборке параметров: среднее, стандартное отклонение
+ * и полоса P5–P95 в каждой точке сетки. Варианты, для которых модель неприменима,
+ * в статистику не входят и учитываются в invalidSamples.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UncertaintyResult {
+    private double[] positions;                  // z, м
+
+    private double[] temperatureMean;            // Среднее T, °C
+    private double[] temperatureStdDev;          // Стандартное отклонение T, °C
+    private double[] temperatureP5;              // 5-й процентиль T, °C
+    private double[] temperatureP95;             // 95-й процентиль T, °C
+
+    private double[] viscosityMean;              // Среднее η, Па·с
+    private double[] viscosityStdDev;            // Стандартное отклонение η, Па·с
+    private double[] viscosityP5;                // 5-й процентиль η, Па·с
+    private double[] viscosityP95;               // 95-й процентиль η, Па·с
+
+    private double productivityMean;             // Среднее Q, кг/ч
+    private double productivityStdDev;           // Стандартное отклонение Q, кг/ч
+
+    private long samples;                        // Количество вариантов
+    private long invalidSamples;                 // Вариантов вне области применимости модели
+    private long seed;                           // Использованное начальное значение генератора
+    private double calculationTime;              // Время расчета, мс
+}
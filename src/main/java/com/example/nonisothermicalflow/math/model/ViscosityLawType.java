@@ -0,0 +1,9 @@
+package com.example.nonisothermicalflow.math.model;
+
+/**
+ * Закон зависимости вязкости от температуры для численного решения
+ */
+public enum ViscosityLawType {
+    EXPONENTIAL,    // μ0·exp(−b·(T − Tr)), как в замкнутом решении
+    WLF             // Уравнение ВЛФ без линеаризации
+}
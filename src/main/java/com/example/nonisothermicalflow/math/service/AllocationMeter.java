@@ -0,0 +1,45 @@
+package com.example.nonisothermicalflow.math.service;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Учет памяти, выделенной текущим потоком.
+ * Использует com.sun.management.ThreadMXBean: счетчик аллокаций потока читается
+ * без остановки JVM, поэтому замер не требует вызова System.gc() на пути запроса.
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = resolveThreadBean();
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * @return true, если JVM поддерживает учет аллокаций по потокам
+     */
+    public static boolean isSupported() {
+        return THREAD_BEAN != null;
+    }
+
+    /**
+     * Возвращает количество байт, выделенных текущим потоком с момента его запуска
+     *
+     * @return счетчик аллокаций потока или -1, если учет не поддерживается (см. {@link #isSupported()})
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREAD_BEAN != null ? THREAD_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean resolveThreadBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.nonisothermicalflow.math.service;
+
+import com.example.nonisothermicalflow.math.engine.SimulationCancelledException;
+import com.example.nonisothermicalflow.math.engine.SimulationControl;
+import com.example.nonisothermicalflow.math.model.MaterialComparisonResult;
+import com.example.nonisothermicalflow.math.model.MaterialParameters;
+import com.example.nonisothermicalflow.math.model.MaterialSimulationRequest;
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.ResultModel;
+import com.example.nonisothermicalflow.math.model.SimulationOptions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Сервис сравнения материалов: расчет нескольких материалов с общими геометрией и режимом.
+ * Материалы считаются параллельно через кэш результатов, профили выравниваются по общей сетке z.
+ */
+@Service
+@RequiredArgsConstructor
+public class MaterialComparisonService {
+
+    private final MathService mathService;
+    private final SimulationCacheService cacheService;
+    private final ForkJoinPool simulationExecutor;
+
+    @Value("${simulation.comparison.max-materials:50}")
+    private int maxMaterials;
+
+    @Value("${simulation.comparison.max-points:2000000}")
+    private long maxTotalPoints;
+
+    /**
+     * @return максимальное количество материалов в одном сравнении
+     */
+    public int getMaxMaterials() {
+        return maxMaterials;
+    }
+
+    /**
+     * Рассчитывает профили материалов на общей сетке z.
+     * Замкнутое решение в точке z не зависит от шага, поэтому при ограничении maxPoints
+     * сетка просто укрупняется: значения в ее узлах совпадают с расчетом на исходном шаге.
+     *
+     * @param materials снимки параметров материалов (все параметры заданы)
+     * @param process геометрия канала, режим процесса и шаг
+     * @param maxPoints максимальное количество точек сетки или null
+     * @param control отмена и срок выполнения сравнения; каждый материал считается с дочерним управлением
+     * @return профили и скалярные показатели по материалам
+     * @throws IllegalArgumentException если параметры некорректны или сетка слишком велика
+     * @throws SimulationCancelledException если сравнение прервано
+     */
+    public MaterialComparisonResult compare(List<MaterialParameters> materials, MaterialSimulationRequest process,
+                                            Integer maxPoints, SimulationControl control) {
+        long startTime = System.nanoTime();
+
+        MaterialSimulationRequest grid = alignGrid(process, maxPoints);
+        long pointsCount = Math.round(grid.getLength() / grid.getStep()) + 1;
+        if (pointsCount * materials.size() > maxTotalPoints) {
+            throw new IllegalArgumentException("Общее количество точек сравнения превышает допустимое: " + maxTotalPoints
+                    + " (укажите maxPoints или увеличьте шаг)");
+        }
+
+        List<MathModel> models = new ArrayList<>(materials.size());
+        for (MaterialParameters material : materials) {
+            MathModel model = material.toModel(grid);
+            if (!mathService.validateParameters(model)) {
+                throw new IllegalArgumentException("Некорректные параметры модели");
+            }
+            models.add(model);
+        }
+
+        SimulationOptions options = new SimulationOptions();
+        List<CompletableFuture<ResultModel>> futures = new ArrayList<>(models.size());
+        for (MathModel model : models) {
+            SimulationControl materialControl = control.child();
+            futures.add(CompletableFuture.supplyAsync(() -> cacheService.runSimulation(model, options, materialControl),
+                    simulationExecutor));
+        }
+
+        List<UUID> materialIds = new ArrayList<>(materials.size());
+        List<String> materialNames = new ArrayList<>(materials.size());
+        List<double[]> temperatures = new ArrayList<>(materials.size());
+        List<double[]> viscosities = new ArrayList<>(materials.size());
+        double[] productivity = new double[materials.size()];
+        double[] finalTemperature = new double[materials.size()];
+        double[] finalViscosity = new double[materials.size()];
+        double[] positions = null;
+        for (int i = 0; i < materials.size(); i++) {
+            ResultModel result;
+            try {
+                result = await(futures.get(i));
+            } catch (RuntimeException e) {
+                // Остальные материалы не нужны: останавливаем их на ближайшей проверке
+                control.cancel();
+                throw e;
+            }
+            if (positions == null) {
+                positions = result.getPositions();
+            }
+            materialIds.add(materials.get(i).getMaterialId());
+            materialNames.add(materials.get(i).getMaterialName());
+            temperatures.add(result.getTemperatures());
+            viscosities.add(result.getViscosities());
+            productivity[i] = result.getProductivity();
+            finalTemperature[i] = result.getFinalTemperature();
+            finalViscosity[i] = result.getFinalViscosity();
+        }
+
+        double calculationTime = (System.nanoTime() - startTime) / 1_000_000.0;
+        return new MaterialComparisonResult(materialIds, materialNames, positions, temperatures, viscosities,
+                productivity, finalTemperature, finalViscosity, calculationTime);
+    }
+
+    /**
+     * Возвращает параметры процесса с шагом, укрупненным до maxPoints точек сетки
+     */
+    private static MaterialSimulationRequest alignGrid(MaterialSimulationRequest process, Integer maxPoints) {
+        if (!(process.getLength() > 0) || !(process.getStep() > 0)) {
+            throw new IllegalArgumentException("Некорректные параметры модели");
+        }
+        if (maxPoints == null) {
+            return process;
+        }
+        if (maxPoints < 2) {
+            throw new IllegalArgumentException("maxPoints должно быть не меньше 2");
+        }
+        if (Math.round(process.getLength() / process.getStep()) + 1 <= maxPoints) {
+            return process;
+        }
+        return new MaterialSimulationRequest(process.getWidth(), process.getDepth(), process.getLength(),
+                process.getCoverSpeed(), process.getCoverTemp(), process.getLength() / (maxPoints - 1));
+    }
+
+    private static ResultModel await(CompletableFuture<ResultModel> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SimulationCancelledException cancelled) {
+                throw cancelled;
+            }
+            if (e.getCause() instanceof IllegalArgumentException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Ошибка расчета материала: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
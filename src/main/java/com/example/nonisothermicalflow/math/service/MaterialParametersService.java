@@ -0,0 +1,141 @@
+package com.example.nonisothermicalflow.math.service;
+
+import com.example.nonisothermicalflow.materials.model.Material;
+import com.example.nonisothermicalflow.materials.model.MaterialCoefficientValue;
+import com.example.nonisothermicalflow.materials.model.MaterialPropertyValue;
+import com.example.nonisothermicalflow.materials.repository.MaterialRepository;
+import com.example.nonisothermicalflow.materials.service.MaterialChangedEvent;
+import com.example.nonisothermicalflow.math.model.MaterialParameters;
+import com.example.nonisothermicalflow.math.model.ModelParameter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш снимков параметров материалов для расчета.
+ * Снимки отсутствующих в кэше материалов читаются из базы одним запросом
+ * (материалы вместе со значениями свойств и коэффициентов) и хранятся до изменения материала:
+ * сервисы материалов публикуют {@link MaterialChangedEvent}, и снимок сбрасывается после фиксации транзакции.
+ * Срок хранения ограничен на случай изменений в обход сервисов (например, через Spring Data REST).
+ */
+@Slf4j
+@Service
+public class MaterialParametersService {
+
+    private final MaterialRepository materialRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<UUID, MaterialParameters> snapshots;
+    private final AtomicLong generation = new AtomicLong();
+
+    public MaterialParametersService(MaterialRepository materialRepository,
+                                     @Qualifier("materialsTransactionManager") PlatformTransactionManager transactionManager,
+                                     @Value("${simulation.materials.snapshot-max-size:1000}") long maximumSize,
+                                     @Value("${simulation.materials.snapshot-ttl:10m}") Duration ttl) {
+        this.materialRepository = materialRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        log.info("Кэш параметров материалов: до {} материалов, срок хранения {}", maximumSize, ttl);
+    }
+
+    /**
+     * Возвращает снимок параметров материала из кэша или читает его из базы
+     *
+     * @param materialId ID материала
+     * @return снимок параметров или пустой Optional, если материал не найден
+     */
+    public Optional<MaterialParameters> findParameters(UUID materialId) {
+        return Optional.ofNullable(findParameters(List.of(materialId)).get(materialId));
+    }
+
+    /**
+     * Возвращает снимки параметров нескольких материалов; отсутствующие в кэше
+     * читаются из базы одним запросом
+     *
+     * @param materialIds ID материалов
+     * @return снимки найденных материалов в порядке materialIds; ненайденные материалы отсутствуют
+     */
+    public Map<UUID, MaterialParameters> findParameters(Collection<UUID> materialIds) {
+        Map<UUID, MaterialParameters> found = new LinkedHashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID materialId : materialIds) {
+            MaterialParameters cached = snapshots.getIfPresent(materialId);
+            found.put(materialId, cached);
+            if (cached == null) {
+                misses.add(materialId);
+            }
+        }
+        if (!misses.isEmpty()) {
+            long loadGeneration = generation.get();
+            List<MaterialParameters> loaded = transactionTemplate.execute(status -> load(misses));
+            // Снимки, прочитанные во время изменения материалов, не кэшируются
+            boolean cacheable = generation.get() == loadGeneration;
+            for (MaterialParameters parameters : loaded) {
+                found.put(parameters.getMaterialId(), parameters);
+                if (cacheable) {
+                    snapshots.put(parameters.getMaterialId(), parameters);
+                }
+            }
+        }
+        found.values().removeIf(Objects::isNull);
+        return found;
+    }
+
+    /**
+     * Сбрасывает снимки после фиксации изменений материала
+     *
+     * @param event событие изменения материала или справочника свойств и коэффициентов
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMaterialChanged(MaterialChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.isGlobal()) {
+            snapshots.invalidateAll();
+        } else {
+            snapshots.invalidate(event.getMaterialId());
+        }
+    }
+
+    private List<MaterialParameters> load(Collection<UUID> materialIds) {
+        List<MaterialParameters> loaded = new ArrayList<>();
+        for (Material material : materialRepository.findWithValuesByIdIn(materialIds)) {
+            Map<ModelParameter, Double> values = new EnumMap<>(ModelParameter.class);
+            for (MaterialPropertyValue propertyValue : material.getPropertyValues()) {
+                put(values, propertyValue.getProperty().getCode(), propertyValue.getPropertyValue());
+            }
+            for (MaterialCoefficientValue coefficientValue : material.getCoefficientValues()) {
+                put(values, coefficientValue.getCoefficient().getCode(), coefficientValue.getCoefficientValue());
+            }
+            loaded.add(MaterialParameters.compile(material.getId(), material.getName(), values));
+        }
+        return loaded;
+    }
+
+    private static void put(Map<ModelParameter, Double> values, String code, Double value) {
+        ModelParameter parameter = code != null ? MaterialParameters.parameterOf(code) : null;
+        if (parameter != null && value != null) {
+            values.put(parameter, value);
+        }
+    }
+}
@@ -1,17 +1,75 @@
 package com.example.nonisothermicalflow.math.service;
 
+import com.example.nonisothermicalflow.math.engine.AdaptiveSampler;
+import com.example.nonisothermicalflow.math.engine.DormandPrinceIntegrator;
+import com.example.nonisothermicalflow.math.engine.Dual;
+import com.example.nonisothermicalflow.math.engine.EnergyBalance;
+import com.example.nonisothermicalflow.math.engine.ExponentialViscosityLaw;
+import com.example.nonisothermicalflow.math.engine.InstrumentedSimulationKernel;
+import com.example.nonisothermicalflow.math.engine.LinearPropertyLaw;
+import com.example.nonisothermicalflow.math.engine.OdeProfileRecorder;
+import com.example.nonisothermicalflow.math.engine.ProfileDecimator;
+import com.example.nonisothermicalflow.math.engine.ProfileSink;
+import com.example.nonisothermicalflow.math.engine.PropertyLaw;
+import com.example.nonisothermicalflow.math.engine.ScalarSimulationKernel;
+import com.example.nonisothermicalflow.math.engine.SensitivityAnalyzer;
+import com.example.nonisothermicalflow.math.engine.SimulationControl;
+import com.example.nonisothermicalflow.math.engine.SimulationKernel;
+import com.example.nonisothermicalflow.math.engine.SimulationPlan;
+import com.example.nonisothermicalflow.math.engine.VectorSimulationKernel;
+import com.example.nonisothermicalflow.math.engine.WlfViscosityLaw;
+import com.example.nonisothermicalflow.math.model.DecimationMethod;
+import com.example.nonisothermicalflow.math.model.KernelType;
 import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.ModelParameter;
+import com.example.nonisothermicalflow.math.model.OdeResultModel;
+import com.example.nonisothermicalflow.math.model.OdeSimulationRequest;
+import com.example.nonisothermicalflow.math.model.ProfilePoints;
 import com.example.nonisothermicalflow.math.model.ResultModel;
+import com.example.nonisothermicalflow.math.model.SensitivityReport;
+import com.example.nonisothermicalflow.math.model.SimulationOptions;
+import com.example.nonisothermicalflow.math.model.SimulationSummary;
+import com.example.nonisothermicalflow.math.model.ViscosityLawType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.lang.management.ManagementFactory;
-import java.lang.management.MemoryMXBean;
-import java.lang.management.MemoryUsage;
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class MathService {
+
+    /** Размер порции при расчете с прореживанием */
+    private static final int DECIMATION_CHUNK_POINTS = 8192;
+
+    /** Количество точек между проверками отмены и срока выполнения при расчете полного профиля */
+    private static final int CONTROL_CHUNK_POINTS = 65536;
+
+    /** Допуск адаптивной выборки по T, если задан только допуск по η, °C */
+    private static final double DEFAULT_TEMPERATURE_TOLERANCE = 0.1;
+
+    /** Относительный допуск адаптивной выборки по η, если задан только допуск по T */
+    private static final double DEFAULT_VISCOSITY_TOLERANCE = 1e-3;
+
+    /** Допуски численного решения уравнения энергии по умолчанию */
+    private static final double DEFAULT_ODE_RELATIVE_TOLERANCE = 1e-8;
+    private static final double DEFAULT_ODE_ABSOLUTE_TOLERANCE = 1e-8;
+
+    private final SimulationKernel scalarKernel = new ScalarSimulationKernel();
+    private final SimulationKernel vectorKernel = new VectorSimulationKernel();
+
+    @Value("${simulation.kernel:SCALAR}")
+    private KernelType defaultKernel = KernelType.SCALAR;
+
+    @Value("${simulation.points.max-count:100000}")
+    private int maxQueryPoints = 100_000;
+
+    private SimulationMetrics metrics = SimulationMetrics.NONE;
+
+    @Autowired
+    public void setMetrics(SimulationMetrics metrics) {
+        this.metrics = metrics;
+    }
     
     /**
      * Выполняет моделирование неизотермического течения с заданными параметрами
@@ -20,144 +78,477 @@ public class MathService {
      * @return ResultModel с результатами расчетов
      */
     public ResultModel runSimulation(MathModel model) {
+        return runSimulation(model, new SimulationOptions());
+    }
+
+    /**
+     * Выполняет моделирование неизотермического течения с заданными параметрами и опциями расчета
+     *
+     * @param model Модель с входными параметрами
+     * @param options Опции выполнения расчета
+     * @return ResultModel с результатами расчетов
+     */
+    public ResultModel runSimulation(MathModel model, SimulationOptions options) {
+        return runSimulation(model, options, new SimulationControl());
+    }
+
+    /**
+     * Выполняет моделирование с отслеживанием прогресса и возможностью отмены
+     *
+     * @param model Модель с входными параметрами
+     * @param options Опции выполнения расчета
+     * @param control Прогресс и отмена расчета
+     * @return ResultModel с результатами расчетов
+     * @throws com.example.nonisothermicalflow.math.engine.SimulationCancelledException если расчет отменен
+     */
+    public ResultModel runSimulation(MathModel model, SimulationOptions options, SimulationControl control) {
+        metrics.started();
+        try {
+            ResultModel result = calculateProfiles(model, options, control);
+            if (options.isSensitivities()) {
+                result.setSensitivities(calculateSensitivities(model));
+            }
+            return result;
+        } finally {
+            metrics.finished();
+        }
+    }
+
+    /**
+     * Вычисляет чувствительности производительности, температуры и вязкости на выходе
+     * ко всем параметрам модели за один проход автоматического дифференцирования
+     *
+     * @param model Модель с входными параметрами
+     * @return производные и эластичности итоговых показателей
+     */
+    public SensitivityReport calculateSensitivities(MathModel model) {
+        SensitivityAnalyzer analyzer = SensitivityAnalyzer.analyze(model);
+        Dual productivity = analyzer.getProductivity();
+        Dual finalTemperature = analyzer.getFinalTemperature();
+        Dual finalViscosity = analyzer.getFinalViscosity();
+
+        ModelParameter[] parameters = ModelParameter.values();
+        double[] values = new double[parameters.length];
+        double[] productivityDerivatives = new double[parameters.length];
+        double[] temperatureDerivatives = new double[parameters.length];
+        double[] viscosityDerivatives = new double[parameters.length];
+        double[] productivityElasticities = new double[parameters.length];
+        double[] temperatureElasticities = new double[parameters.length];
+        double[] viscosityElasticities = new double[parameters.length];
+        for (ModelParameter parameter : parameters) {
+            int i = parameter.ordinal();
+            values[i] = parameter.get(model);
+            productivityDerivatives[i] = productivity.derivative(i);
+            temperatureDerivatives[i] = finalTemperature.derivative(i);
+            viscosityDerivatives[i] = finalViscosity.derivative(i);
+            productivityElasticities[i] = values[i] / productivity.getValue() * productivityDerivatives[i];
+            temperatureElasticities[i] = values[i] / finalTemperature.getValue() * temperatureDerivatives[i];
+            viscosityElasticities[i] = values[i] / finalViscosity.getValue() * viscosityDerivatives[i];
+        }
+        return new SensitivityReport(List.of(parameters), values,
+                productivityDerivatives, temperatureDerivatives, viscosityDerivatives,
+                productivityElasticities, temperatureElasticities, viscosityElasticities);
+    }
+
+    /**
+     * Вычисляет профили способом, выбранным в опциях расчета
+     */
+    private ResultModel calculateProfiles(MathModel model, SimulationOptions options, SimulationControl control) {
+        SimulationKernel kernel = resolveKernel(options);
+        Integer maxPoints = options.getMaxPoints();
+        if (options.isAdaptive()) {
+            if (maxPoints != null) {
+                throw new IllegalArgumentException("Адаптивная выборка и прореживание (maxPoints) несовместимы");
+            }
+            return calculateAdaptiveResults(model, createAdaptiveSampler(options), options.isInstrumented(), control);
+        }
+        if (maxPoints != null) {
+            DecimationMethod method = options.getDecimation() != null ? options.getDecimation() : DecimationMethod.LTTB;
+            return calculateDecimatedResults(model, kernel, ProfileDecimator.create(method, maxPoints), control);
+        }
         // Выполняем расчеты и возвращаем результаты
-        return calculateSimulationResults(model);
+        return calculateSimulationResults(model, kernel, control);
+    }
+
+    /**
+     * Решает уравнение энергии численно методом Дормана–Принса с адаптивным шагом.
+     * В отличие от замкнутого решения допускает закон вязкости ВЛФ без линеаризации
+     * и линейную зависимость плотности и теплоемкости от температуры.
+     * Шаг модели используется только как начальный шаг интегратора.
+     *
+     * @param request модель, законы свойств и допуски интегрирования
+     * @return профиль по принятым шагам и отклонение от замкнутого решения
+     * @throws IllegalArgumentException если допуски некорректны
+     * @throws ArithmeticException если интегрирование не сходится
+     */
+    public OdeResultModel runOdeSimulation(OdeSimulationRequest request) {
+        long startTime = System.nanoTime();
+
+        MathModel model = request.getModel();
+        SimulationPlan plan = SimulationPlan.compile(model);
+        double castingTemp = model.getCastingTemp();
+        PropertyLaw viscosityLaw = request.getViscosityLaw() == ViscosityLawType.WLF
+                ? new WlfViscosityLaw(model.getMu0(), model.getFirstConstantVLF(), model.getSecondConstantVLF(),
+                        model.getGlassTransitionTemp(), castingTemp)
+                : new ExponentialViscosityLaw(model.getMu0(), plan.getB(), castingTemp);
+        EnergyBalance balance = new EnergyBalance(plan, model, viscosityLaw,
+                new LinearPropertyLaw(model.getDensity(), request.getDensitySlope(), castingTemp),
+                new LinearPropertyLaw(model.getHeatCapacity(), request.getHeatCapacitySlope(), castingTemp));
+
+        DormandPrinceIntegrator integrator = new DormandPrinceIntegrator(
+                request.getRelativeTolerance() != null ? request.getRelativeTolerance() : DEFAULT_ODE_RELATIVE_TOLERANCE,
+                request.getAbsoluteTolerance() != null ? request.getAbsoluteTolerance() : DEFAULT_ODE_ABSOLUTE_TOLERANCE);
+        OdeProfileRecorder recorder = new OdeProfileRecorder(plan, balance);
+        double initialTemp = model.getMeltingTemp();
+        recorder.accept(0, initialTemp);
+        double finalTemp = integrator.integrate(balance, 0, initialTemp, plan.getLength(), model.getStep(), recorder);
+        if (!Double.isFinite(finalTemp)) {
+            throw new ArithmeticException("Численное решение уравнения энергии расходится");
+        }
+
+        double calculationTime = (System.nanoTime() - startTime) / 1_000_000.0;
+        return new OdeResultModel(recorder.getPositions(), recorder.getTemperatures(), recorder.getViscosities(),
+                plan.getProductivity(), finalTemp, balance.viscosityAt(finalTemp), calculationTime,
+                integrator.getAcceptedSteps(), integrator.getRejectedSteps(), integrator.getEvaluationsCount(),
+                plan.temperatureAt(plan.getLength()), recorder.getMaxTemperatureDeviation());
+    }
+
+    /**
+     * Вычисляет только итоговые показатели: замкнутое решение на выходе канала z = L.
+     * Профили не вычисляются и не выделяются, время расчета не зависит от шага.
+     *
+     * @param model Модель с входными параметрами
+     * @return производительность, температура и вязкость на выходе
+     */
+    public SimulationSummary summarize(MathModel model) {
+        long startTime = System.nanoTime();
+
+        SimulationPlan plan = SimulationPlan.compile(model);
+        double finalPosition = plan.finalPosition();
+        double chi = plan.chiAt(finalPosition);
+
+        double calculationTime = (System.nanoTime() - startTime) / 1_000_000.0;
+        return new SimulationSummary(plan.getProductivity(), plan.temperatureOf(chi), plan.viscosityOf(chi),
+                finalPosition, calculationTime);
+    }
+
+    /**
+     * Вычисляет температуру и вязкость только в заданных точках канала.
+     * Стоимость пропорциональна количеству точек и не зависит от длины канала и шага.
+     *
+     * @param model Модель с входными параметрами
+     * @param positions Координаты z, м (от 0 до L)
+     * @return значения профиля в заданных точках
+     * @throws IllegalArgumentException если точек слишком много или точка вне канала
+     */
+    public ProfilePoints evaluatePoints(MathModel model, double[] positions) {
+        if (positions == null || positions.length == 0) {
+            throw new IllegalArgumentException("Не заданы координаты точек");
+        }
+        if (positions.length > maxQueryPoints) {
+            throw new IllegalArgumentException("Количество точек превышает допустимое: " + maxQueryPoints);
+        }
+        long startTime = System.nanoTime();
+
+        SimulationPlan plan = SimulationPlan.compile(model);
+        double[] temperatures = new double[positions.length];
+        double[] viscosities = new double[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            double z = positions[i];
+            if (!(z >= 0 && z <= plan.getLength())) {
+                throw new IllegalArgumentException("Координата вне канала [0, " + plan.getLength() + "]: " + z);
+            }
+            double chi = plan.chiAt(z);
+            temperatures[i] = plan.temperatureOf(chi);
+            viscosities[i] = plan.viscosityOf(chi);
+        }
+
+        double calculationTime = (System.nanoTime() - startTime) / 1_000_000.0;
+        return new ProfilePoints(positions.clone(), temperatures, viscosities, null, null, calculationTime);
+    }
+
+    /**
+     * Вычисляет страницу равномерной сетки с шагом model.step: точки с номерами
+     * от offset до offset + limit (не включая). Остальная сетка не вычисляется.
+     *
+     * @param model Модель с входными параметрами
+     * @param options Опции выполнения расчета
+     * @param offset Номер первой точки страницы
+     * @param limit Максимальное количество точек страницы
+     * @return значения профиля на странице; пустая страница, если offset за концом сетки
+     * @throws IllegalArgumentException если параметры страницы некорректны или сетка
+     *                                  не адресуется индексом int (см. {@link SimulationPlan#getPointsCount()})
+     */
+    public ProfilePoints evaluatePage(MathModel model, SimulationOptions options, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Некорректные параметры страницы: offset=" + offset + ", limit=" + limit);
+        }
+        if (limit > maxQueryPoints) {
+            throw new IllegalArgumentException("Размер страницы превышает допустимый: " + maxQueryPoints);
+        }
+        SimulationKernel kernel = resolveKernel(options.getKernel());
+        long startTime = System.nanoTime();
+
+        SimulationPlan plan = SimulationPlan.compile(model);
+        // Размер сетки проверяется до выделения страницы: L / Δz ≥ 2^31 отклоняется, а не переполняет int
+        int pointsCount = plan.getPointsCount();
+        int from = Math.min(offset, pointsCount);
+        int to = (int) Math.min(pointsCount, (long) from + limit);
+        double[] positions = new double[to - from];
+        double[] temperatures = new double[to - from];
+        double[] viscosities = new double[to - from];
+        kernel.evaluate(plan, from, to, positions, temperatures, viscosities, 0);
+
+        double calculationTime = (System.nanoTime() - startTime) / 1_000_000.0;
+        return new ProfilePoints(positions, temperatures, viscosities, offset, pointsCount, calculationTime);
+    }
+
+    /**
+     * Выполняет моделирование с потоковой выдачей профиля порциями фиксированного размера.
+     * Профиль целиком в памяти не хранится: используются три буфера по chunkSize точек.
+     *
+     * @param model Модель с входными параметрами
+     * @param options Опции выполнения расчета
+     * @param chunkSize Количество точек в порции
+     * @param sink Получатель порций профиля
+     * @return итоговые показатели и статистика расчета (без профилей)
+     */
+    public ResultModel streamSimulation(MathModel model, SimulationOptions options, int chunkSize, ProfileSink sink) {
+        return streamSimulation(model, options, chunkSize, sink, new SimulationControl());
+    }
+
+    /**
+     * Выполняет потоковое моделирование с отслеживанием прогресса, отменой и сроком выполнения.
+     * Проверка выполняется после каждой порции, так что прерванный расчет останавливается,
+     * не дойдя до конца сетки.
+     *
+     * @param model Модель с входными параметрами
+     * @param options Опции выполнения расчета
+     * @param chunkSize Количество точек в порции
+     * @param sink Получатель порций профиля
+     * @param control Прогресс, отмена и срок выполнения расчета
+     * @return итоговые показатели и статистика расчета (без профилей)
+     * @throws com.example.nonisothermicalflow.math.engine.SimulationCancelledException если расчет прерван
+     */
+    public ResultModel streamSimulation(MathModel model, SimulationOptions options, int chunkSize, ProfileSink sink,
+                                        SimulationControl control) {
+        SimulationKernel kernel = resolveKernel(options);
+        metrics.started();
+        try {
+            return streamProfiles(model, kernel, chunkSize, sink, control);
+        } finally {
+            metrics.finished();
+        }
+    }
+
+    private ResultModel streamProfiles(MathModel model, SimulationKernel kernel, int chunkSize, ProfileSink sink,
+                                       SimulationControl control) {
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        SimulationPlan plan = SimulationPlan.compile(model);
+        long setupTime = System.nanoTime();
+        sink.begin(plan);
+        evaluateInChunks(plan, kernel, chunkSize, sink, control);
+
+        long endTime = System.nanoTime();
+        // Время прохода по сетке включает запись порций в поток ответа
+        metrics.recordRun(setupTime - startTime, endTime - setupTime, plan.getPointsCount());
+        double calculationTime = (endTime - startTime) / 1_000_000.0;
+        long memoryUsage = AllocationMeter.isSupported()
+                ? AllocationMeter.currentThreadAllocatedBytes() - allocatedBefore
+                : (long) Math.min(chunkSize, plan.getPointsCount()) * 3 * Double.BYTES;
+
+        double chi = plan.chiAt(plan.finalPosition());
+        return new ResultModel(null, null, null,
+                plan.getProductivity(), plan.temperatureOf(chi), plan.viscosityOf(chi),
+                calculationTime, operationsCount(kernel), memoryUsage, plan.getPointsCount());
+    }
+
+    /**
+     * Выполняет расчет на полной сетке с шагом model.step, но возвращает профиль,
+     * прореженный до заданного количества точек. Полный профиль в памяти не хранится.
+     */
+    private ResultModel calculateDecimatedResults(MathModel model, SimulationKernel kernel,
+                                                  ProfileDecimator decimator, SimulationControl control) {
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        SimulationPlan plan = SimulationPlan.compile(model);
+        if (plan.getPointsCount() <= decimator.getMaxPoints()) {
+            // Прореживать нечего: считаем полный профиль по уже скомпилированному плану
+            return calculateSimulationResults(plan, kernel, control, allocatedBefore, startTime);
+        }
+        long setupTime = System.nanoTime();
+        decimator.begin(plan);
+        evaluateInChunks(plan, kernel, DECIMATION_CHUNK_POINTS, decimator, control);
+        metrics.recordRun(setupTime - startTime, System.nanoTime() - setupTime, plan.getPointsCount());
+
+        double[] positions = decimator.getPositions();
+        double[] temperatures = decimator.getTemperatures();
+        double[] viscosities = decimator.getViscosities();
+
+        double calculationTime = (System.nanoTime() - startTime) / 1_000_000.0;
+        long memoryUsage = AllocationMeter.isSupported()
+                ? AllocationMeter.currentThreadAllocatedBytes() - allocatedBefore
+                : (long) positions.length * 3 * Double.BYTES;
+
+        return new ResultModel(positions, temperatures, viscosities,
+                plan.getProductivity(), temperatures[temperatures.length - 1], viscosities[viscosities.length - 1],
+                calculationTime, operationsCount(kernel), memoryUsage, plan.getPointsCount());
+    }
+
+    /**
+     * Строит профиль адаптивной выборкой: точки размещаются по кривизне профиля так,
+     * чтобы линейная интерполяция между ними укладывалась в заданные допуски.
+     * Равномерная сетка с шагом model.step не вычисляется, шаг ограничивает только
+     * минимальное расстояние между точками.
+     * Операции считаются по количеству вычислений χ(z), если подсчет запрошен.
+     */
+    private ResultModel calculateAdaptiveResults(MathModel model, AdaptiveSampler sampler, boolean instrumented,
+                                                 SimulationControl control) {
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        SimulationPlan plan = SimulationPlan.compile(model);
+        long setupTime = System.nanoTime();
+        sampler.sample(plan, control);
+        metrics.recordRun(setupTime - startTime, System.nanoTime() - setupTime, sampler.getEvaluationsCount());
+
+        double[] positions = sampler.getPositions();
+        double[] temperatures = sampler.getTemperatures();
+        double[] viscosities = sampler.getViscosities();
+        long operationsCount = instrumented ? SimulationPlan.operationsCount(sampler.getEvaluationsCount()) : 0;
+
+        double calculationTime = (System.nanoTime() - startTime) / 1_000_000.0;
+        long memoryUsage = AllocationMeter.isSupported()
+                ? AllocationMeter.currentThreadAllocatedBytes() - allocatedBefore
+                : (long) positions.length * 3 * Double.BYTES;
+
+        return new ResultModel(positions, temperatures, viscosities,
+                plan.getProductivity(), temperatures[temperatures.length - 1], viscosities[viscosities.length - 1],
+                calculationTime, operationsCount, memoryUsage, sampler.getEvaluationsCount());
+    }
+
+    private static AdaptiveSampler createAdaptiveSampler(SimulationOptions options) {
+        double temperatureTolerance = options.getTemperatureTolerance() != null
+                ? options.getTemperatureTolerance() : DEFAULT_TEMPERATURE_TOLERANCE;
+        double viscosityTolerance = options.getViscosityTolerance() != null
+                ? options.getViscosityTolerance() : DEFAULT_VISCOSITY_TOLERANCE;
+        return new AdaptiveSampler(temperatureTolerance, viscosityTolerance);
+    }
+
+    /**
+     * Вычисляет всю сетку плана порциями по chunkSize точек и передает их получателю.
+     * После каждой порции сообщает о прогрессе и проверяет отмену.
+     */
+    private void evaluateInChunks(SimulationPlan plan, SimulationKernel kernel, int chunkSize,
+                                  ProfileSink sink, SimulationControl control) {
+        int pointsCount = plan.getPointsCount();
+        int bufferSize = Math.min(chunkSize, pointsCount);
+        double[] positions = new double[bufferSize];
+        double[] temperatures = new double[bufferSize];
+        double[] viscosities = new double[bufferSize];
+
+        control.start(pointsCount);
+        for (int from = 0; from < pointsCount; from += bufferSize) {
+            int to = Math.min(pointsCount, from + bufferSize);
+            kernel.evaluate(plan, from, to, positions, temperatures, viscosities, 0);
+            sink.accept(from, positions, temperatures, viscosities, to - from);
+            control.advance(to - from);
+        }
+    }
+
+    /**
+     * Возвращает ядро из опций расчета; если запрошен подсчет операций, рабочее ядро
+     * оборачивается в {@link InstrumentedSimulationKernel} только для этого расчета
+     */
+    private SimulationKernel resolveKernel(SimulationOptions options) {
+        SimulationKernel kernel = resolveKernel(options.getKernel());
+        return options.isInstrumented() ? new InstrumentedSimulationKernel(kernel) : kernel;
+    }
+
+    /**
+     * @return количество операций, подсчитанное ядром, или 0 для рабочего ядра без подсчета
+     */
+    private static long operationsCount(SimulationKernel kernel) {
+        return kernel instanceof InstrumentedSimulationKernel instrumented ? instrumented.getOperationsCount() : 0;
+    }
+
+    /**
+     * Возвращает ядро расчета заданного типа или ядро по умолчанию из конфигурации
+     */
+    private SimulationKernel resolveKernel(KernelType type) {
+        return switch (type != null ? type : defaultKernel) {
+            case SCALAR -> scalarKernel;
+            case VECTOR -> vectorKernel;
+        };
     }
     
     /**
      * Выполняет расчет модели неизотермического течения на основе входных параметров
      * @param model Математическая модель с входными параметрами
+     * @param kernel Ядро расчета профилей
+     * @param control Прогресс и отмена расчета
      * @return Результаты моделирования
      */
-    private ResultModel calculateSimulationResults(MathModel model) {
-        // Счетчик математических операций
-        long operationsCount = 0;
-        
-        // Запустим сборщик мусора перед измерениями
-        System.gc();
-        
-        // Получаем доступ к данным о памяти через MXBean API
-        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
-        MemoryUsage heapUsageBefore = memoryBean.getHeapMemoryUsage();
-        MemoryUsage nonHeapUsageBefore = memoryBean.getNonHeapMemoryUsage();
+    private ResultModel calculateSimulationResults(MathModel model, SimulationKernel kernel, SimulationControl control) {
+        // Счетчик аллокаций потока до расчета (без остановки JVM)
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
         
         // Начальное время расчета
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         
-        // 1. Расчет начальных параметров
-        // Расчет коэффициента формы канала
-        double F = 0.125 * Math.pow(model.getDepth()/model.getWidth(), 2) - 0.625 * (model.getDepth()/model.getWidth()) + 1;
-        operationsCount += 6; // деление, возведение в степень, умножение, вычитание, сложение
-        
-        // Расчет объемного расхода
-        double QCH = (model.getDepth() * model.getWidth() * model.getCoverSpeed() / 2) * F;
-        operationsCount += 4; // умножение * 3, деление
-        
-        double gamma = model.getCoverSpeed() / model.getDepth();
-        operationsCount += 1; // деление
-        
-        // Расчет вязкостного тепловыделения
-        double qGamma = model.getDepth() * model.getWidth() * model.getMu0() * Math.pow(gamma, model.getFlowIndex() + 1);
-        operationsCount += 4; // умножение * 3, сложение, возведение в степень
-        
-        // Расчет теплового потока
-        double qAlpha = model.getWidth() * model.getHeatTransfer() * model.getCoverTemp();
-        operationsCount += 2; // умножение * 2
-        
-        double averageTemp = (model.getMeltingTemp() + (model.getGlassTransitionTemp() + 100)) / 2;
-        operationsCount += 3; // сложение * 2, деление
-        
-        double C2 = model.getSecondConstantVLF() + model.getCastingTemp() - model.getGlassTransitionTemp();
-        operationsCount += 2; // сложение, вычитание
-        
-        double C1 = (model.getFirstConstantVLF() * model.getSecondConstantVLF()) / C2;
-        operationsCount += 2; // умножение, деление
-        
-        double b = C1 / (C2 + (averageTemp - model.getCastingTemp()));
-        operationsCount += 3; // вычитание, сложение, деление
-        
-        int stepsCount = (int) Math.round(model.getLength() / model.getStep());
-        operationsCount += 2; // деление, округление
-
-        // 2. Подготовка списков для результатов
-        List<Double> positions = new ArrayList<>();
-        List<Double> temperatures = new ArrayList<>();
-        List<Double> viscosities = new ArrayList<>();
-
-        // 3. Основной цикл расчета по длине канала
-        for (int i = 0; i <= stepsCount; i++) {
-            double z = i * model.getStep();
-            positions.add(z);
-            operationsCount += 1; // умножение
-
-            double numerator1 = b * qGamma + model.getWidth() * model.getHeatTransfer();
-            operationsCount += 3; // умножение * 2, сложение
-            
-            double denominator1 = model.getWidth() * (1 + b * model.getCastingTemp()) * model.getHeatTransfer() - b * qAlpha;
-            operationsCount += 5; // умножение * 4, вычитание, сложение
-            
-            double exp1 = Math.exp(-denominator1 * z / (model.getDensity() * model.getHeatCapacity() * QCH));
-            operationsCount += 5; // умножение * 3, деление, вычисление exp
-            
-            double part1 = (numerator1 / denominator1) * (1 - exp1);
-            operationsCount += 3; // деление, вычитание, умножение
-            
-            double numerator2 = model.getWidth() * ((1 / b + model.getCastingTemp()) * model.getHeatTransfer() - qAlpha) * z;
-            operationsCount += 6; // деление, сложение, умножение * 3, вычитание
-            
-            double denominator2 = model.getDensity() * model.getHeatCapacity() * QCH;
-            operationsCount += 2; // умножение * 2
-            
-            double exp2 = Math.exp(b * (model.getMeltingTemp() - model.getCastingTemp() - (numerator2 / denominator2)));
-            operationsCount += 6; // вычитание * 2, деление, умножение, вычисление exp
-            
-            double chi = part1 + exp2;
-            operationsCount += 1; // сложение
-            
-            // Расчет температуры
-            double temperature = model.getCastingTemp() + (1 / b) * Math.log(chi);
-            temperatures.add(temperature);
-            operationsCount += 4; // деление, вычисление log, умножение, сложение
-            
-            // Расчет вязкости
-            double viscosity = model.getMu0() * Math.exp(-b * (temperature - model.getCastingTemp())) * Math.pow(gamma, model.getFlowIndex() - 1);
-            viscosities.add(viscosity);
-            operationsCount += 6; // вычитание * 2, умножение * 2, вычисление exp, возведение в степень
+        // 1. Компиляция плана: все величины, не зависящие от z, считаются один раз
+        SimulationPlan plan = SimulationPlan.compile(model);
+        return calculateSimulationResults(plan, kernel, control, allocatedBefore, startTime);
+    }
+
+    /**
+     * Вычисляет полный профиль по скомпилированному плану
+     *
+     * @param allocatedBefore счетчик аллокаций потока до начала расчета
+     * @param startTime время начала расчета (до компиляции плана), нс
+     */
+    private ResultModel calculateSimulationResults(SimulationPlan plan, SimulationKernel kernel, SimulationControl control,
+                                                   long allocatedBefore, long startTime) {
+        // 2. Подготовка колонок для результатов (размер известен заранее)
+        int pointsCount = plan.getPointsCount();
+        double[] positions = new double[pointsCount];
+        double[] temperatures = new double[pointsCount];
+        double[] viscosities = new double[pointsCount];
+
+        // 3. Основной цикл расчета по длине канала порциями с проверкой отмены
+        long kernelStartTime = System.nanoTime();
+        control.start(pointsCount);
+        for (int from = 0; from < pointsCount; from += CONTROL_CHUNK_POINTS) {
+            int to = Math.min(pointsCount, from + CONTROL_CHUNK_POINTS);
+            kernel.evaluate(plan, from, to, positions, temperatures, viscosities, from);
+            control.advance(to - from);
         }
+        metrics.recordRun(kernelStartTime - startTime, System.nanoTime() - kernelStartTime, pointsCount);
 
-        // 4. Расчет итоговых показателей
-        // Расчет производительности
-        double productivity = 3600 * model.getDensity() * QCH; // кг/ч
-        operationsCount += 2; // умножение * 2
-        
-        double finalTemp = temperatures.get(temperatures.size() - 1);
-        double finalViscosity = viscosities.get(viscosities.size() - 1);
+        // 4. Итоговые показатели
+        double productivity = plan.getProductivity(); // кг/ч
+        double finalTemp = temperatures[pointsCount - 1];
+        double finalViscosity = viscosities[pointsCount - 1];
         
         // Завершение измерения времени расчета
-        long calculationTime = System.currentTimeMillis() - startTime;
-        
-        // Очищаем память
-        System.gc(); 
-        
-        MemoryUsage heapUsageAfter = memoryBean.getHeapMemoryUsage();
-        MemoryUsage nonHeapUsageAfter = memoryBean.getNonHeapMemoryUsage();
-        
-        // Вычисляем разницу в используемой памяти (heap + non-heap)
-        long heapUsed = Math.max(0, heapUsageAfter.getUsed() - heapUsageBefore.getUsed());
-        long nonHeapUsed = Math.max(0, nonHeapUsageAfter.getUsed() - nonHeapUsageBefore.getUsed());
+        double calculationTime = (System.nanoTime() - startTime) / 1_000_000.0;
         
-        // Общее использование памяти
-        long memoryUsage = heapUsed + nonHeapUsed;
+        // Память, выделенная потоком за время расчета
+        long allocatedAfter = AllocationMeter.currentThreadAllocatedBytes();
+        long memoryUsage = AllocationMeter.isSupported() ? allocatedAfter - allocatedBefore : 0;
         
-        // Если по какой-то причине получили отрицательное значение, установим минимальное положительное
+        // Если учет аллокаций недоступен, используем оценку по размеру колонок
         if (memoryUsage <= 0) {
-            memoryUsage = positions.size() * 8 + temperatures.size() * 8 + viscosities.size() * 8;
-            // Минимально гарантированный размер, основанный на количестве элементов в списках (8 байт на Double)
+            memoryUsage = (long) pointsCount * 3 * Double.BYTES;
+            // Минимально гарантированный размер, основанный на размере колонок (8 байт на double)
         }
 
         return new ResultModel(positions, temperatures, viscosities,
                 productivity, finalTemp, finalViscosity,
-                calculationTime, operationsCount, memoryUsage);
+                calculationTime, operationsCount(kernel), memoryUsage, pointsCount);
     }
     
     /**
@@ -168,6 +559,7 @@ public class MathService {
                model.getDepth() > 0 && 
                model.getLength() > 0 && 
                model.getCoverSpeed() > 0 && 
-               model.getCoverTemp() > 0;
+               model.getCoverTemp() > 0 &&
+               model.getStep() > 0;
     }
 }
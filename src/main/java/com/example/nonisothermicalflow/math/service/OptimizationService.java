@@ -0,0 +1,342 @@
+package com.example.nonisothermicalflow.math.service;
+
+import com.example.nonisothermicalflow.math.engine.SimulationCancelledException;
+import com.example.nonisothermicalflow.math.engine.SimulationControl;
+import com.example.nonisothermicalflow.math.engine.SimulationPlan;
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.ModelParameter;
+import com.example.nonisothermicalflow.math.model.OptimizationObjective;
+import com.example.nonisothermicalflow.math.model.OptimizationRequest;
+import com.example.nonisothermicalflow.math.model.OptimizationResult;
+import com.example.nonisothermicalflow.math.model.OptimizationVariable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Сервис поиска оптимального режима методом дифференциальной эволюции (DE/rand/1/bin).
+ * Метод не требует производных и устойчив к разрывам, возникающим на границе области
+ * применимости модели. Ограничения учитываются правилами Деба:
+ * допустимая точка лучше недопустимой, из двух допустимых лучше точка с лучшей целевой функцией,
+ * из двух недопустимых — точка с меньшим суммарным нарушением ограничений.
+ * <p>
+ * Пробные точки поколения строятся последовательно из одного генератора случайных чисел,
+ * а вычисляются параллельно в пуле simulationExecutor, поэтому при заданном seed
+ * результат воспроизводим независимо от числа потоков.
+ */
+@Service
+@RequiredArgsConstructor
+public class OptimizationService {
+
+    /** Коэффициент мутации F */
+    private static final double DIFFERENTIAL_WEIGHT = 0.7;
+
+    /** Вероятность скрещивания CR */
+    private static final double CROSSOVER_PROBABILITY = 0.9;
+
+    static final int DEFAULT_GENERATIONS = 200;
+
+    /** Относительный разброс целевой функции допустимой популяции, при котором поиск останавливается */
+    private static final double CONVERGENCE_TOLERANCE = 1e-12;
+
+    private final MathService mathService;
+    private final ForkJoinPool simulationExecutor;
+
+    @Value("${simulation.optimization.max-evaluations:1000000}")
+    private long maxEvaluations;
+
+    /**
+     * Выполняет поиск оптимального режима
+     *
+     * @param request базовая модель, варьируемые параметры, целевая функция и ограничения
+     * @param control прогресс (в поколениях), отмена и срок выполнения; проверяются один раз за поколение
+     * @return лучшая найденная точка
+     * @throws IllegalArgumentException если запрос некорректен
+     * @throws SimulationCancelledException если поиск отменен или истек срок выполнения
+     */
+    public OptimizationResult optimize(OptimizationRequest request, SimulationControl control) {
+        long startTime = System.nanoTime();
+
+        List<OptimizationVariable> variables = validate(request);
+        int dimension = variables.size();
+        int populationSize = populationSize(request, dimension);
+        int maxGenerations = maxGenerations(request);
+        if (populationSize < 4 || maxGenerations < 1) {
+            throw new IllegalArgumentException("Размер популяции должен быть не меньше 4, количество поколений — не меньше 1");
+        }
+        if ((long) populationSize * (maxGenerations + 1) > maxEvaluations) {
+            throw new IllegalArgumentException("Количество вычислений превышает допустимое: " + maxEvaluations);
+        }
+        OptimizationObjective objective = request.getObjective() != null
+                ? request.getObjective() : OptimizationObjective.MAXIMIZE_PRODUCTIVITY;
+        SplittableRandom random = request.getSeed() != null ? new SplittableRandom(request.getSeed()) : new SplittableRandom();
+
+        control.start(maxGenerations);
+        Population population = new Population(populationSize, dimension);
+        for (int i = 0; i < populationSize; i++) {
+            for (int j = 0; j < dimension; j++) {
+                OptimizationVariable variable = variables.get(j);
+                population.points[i][j] = variable.getLower() + random.nextDouble() * (variable.getUpper() - variable.getLower());
+            }
+        }
+        evaluate(request, variables, objective, population);
+        long evaluations = populationSize;
+
+        Population trials = new Population(populationSize, dimension);
+        int generation = 0;
+        while (generation < maxGenerations && !population.isConverged()) {
+            for (int i = 0; i < populationSize; i++) {
+                mutate(population, i, variables, random, trials.points[i]);
+            }
+            evaluate(request, variables, objective, trials);
+            evaluations += populationSize;
+            for (int i = 0; i < populationSize; i++) {
+                if (!isBetter(population, i, trials, i)) {
+                    population.copyFrom(trials, i);
+                }
+            }
+            generation++;
+            control.advance(1);
+        }
+
+        int best = population.best();
+        MathModel model = request.getBase().copy();
+        List<ModelParameter> parameters = new ArrayList<>(dimension);
+        for (int j = 0; j < dimension; j++) {
+            ModelParameter parameter = variables.get(j).getParameter();
+            parameters.add(parameter);
+            parameter.set(model, population.points[best][j]);
+        }
+
+        double calculationTime = (System.nanoTime() - startTime) / 1_000_000.0;
+        return new OptimizationResult(objective, parameters, population.points[best].clone(), model,
+                population.productivity[best], population.finalTemperature[best], population.finalViscosity[best],
+                population.violation[best] == 0, population.violation[best],
+                generation, evaluations, calculationTime);
+    }
+
+    /**
+     * @return размер популяции из запроса или max(20, 10·d) для d варьируемых параметров
+     */
+    static int populationSize(OptimizationRequest request, int dimension) {
+        return request.getPopulationSize() != null ? request.getPopulationSize() : Math.max(20, 10 * dimension);
+    }
+
+    /**
+     * @return количество поколений из запроса или {@link #DEFAULT_GENERATIONS}
+     */
+    static int maxGenerations(OptimizationRequest request) {
+        return request.getMaxGenerations() != null ? request.getMaxGenerations() : DEFAULT_GENERATIONS;
+    }
+
+    /**
+     * Строит пробную точку: мутация x_r1 + F·(x_r2 − x_r3) и биномиальное скрещивание с x_i.
+     * Координата, вышедшая за границу, отражается между границей и родительским значением.
+     */
+    private static void mutate(Population population, int target, List<OptimizationVariable> variables,
+                               SplittableRandom random, double[] trial) {
+        int size = population.points.length;
+        int r1, r2, r3;
+        do {
+            r1 = random.nextInt(size);
+        } while (r1 == target);
+        do {
+            r2 = random.nextInt(size);
+        } while (r2 == target || r2 == r1);
+        do {
+            r3 = random.nextInt(size);
+        } while (r3 == target || r3 == r1 || r3 == r2);
+
+        double[] parent = population.points[target];
+        int dimension = parent.length;
+        int forced = random.nextInt(dimension);
+        for (int j = 0; j < dimension; j++) {
+            if (j != forced && random.nextDouble() >= CROSSOVER_PROBABILITY) {
+                trial[j] = parent[j];
+                continue;
+            }
+            double value = population.points[r1][j]
+                    + DIFFERENTIAL_WEIGHT * (population.points[r2][j] - population.points[r3][j]);
+            OptimizationVariable variable = variables.get(j);
+            if (value < variable.getLower()) {
+                value = variable.getLower() + random.nextDouble() * (parent[j] - variable.getLower());
+            } else if (value > variable.getUpper()) {
+                value = variable.getUpper() - random.nextDouble() * (variable.getUpper() - parent[j]);
+            }
+            trial[j] = value;
+        }
+    }
+
+    /**
+     * Вычисляет показатели всех точек популяции параллельно
+     */
+    private void evaluate(OptimizationRequest request, List<OptimizationVariable> variables,
+                          OptimizationObjective objective, Population population) {
+        try {
+            simulationExecutor.submit(() -> IntStream.range(0, population.points.length).parallel()
+                    .forEach(i -> evaluatePoint(request, variables, objective, population, i))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Оптимизация прервана", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка при оптимизации: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void evaluatePoint(OptimizationRequest request, List<OptimizationVariable> variables,
+                               OptimizationObjective objective, Population population, int i) {
+        MathModel model = request.getBase().copy();
+        for (int j = 0; j < variables.size(); j++) {
+            variables.get(j).getParameter().set(model, population.points[i][j]);
+        }
+
+        SimulationPlan plan = mathService.validateParameters(model) ? SimulationPlan.compile(model) : null;
+        // Выход канала должен лежать внутри сетки: шаг больше длины канала дает z = 0
+        double outlet = plan != null ? plan.finalPosition() : Double.NaN;
+        if (!(outlet > 0) || !Double.isFinite(outlet)) {
+            population.set(i, Double.NaN, Double.NaN, Double.NaN, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+            return;
+        }
+        double chi = plan.chiAt(outlet);
+        double productivity = plan.getProductivity();
+        double temperature = plan.temperatureOf(chi);
+        double viscosity = plan.viscosityOf(chi);
+        if (!Double.isFinite(temperature) || !Double.isFinite(viscosity) || !Double.isFinite(productivity)) {
+            // Точка вне области применимости замкнутого решения (χ ≤ 0)
+            population.set(i, productivity, temperature, viscosity, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+            return;
+        }
+
+        double cost = objective == OptimizationObjective.MAXIMIZE_PRODUCTIVITY ? -productivity : viscosity;
+        population.set(i, productivity, temperature, viscosity, cost, violation(request, temperature, viscosity));
+    }
+
+    /**
+     * Суммарное нарушение ограничений: по температуре в °C, по вязкости в долях границы
+     */
+    private static double violation(OptimizationRequest request, double temperature, double viscosity) {
+        double violation = 0;
+        if (request.getMinFinalTemperature() != null) {
+            violation += Math.max(0, request.getMinFinalTemperature() - temperature);
+        }
+        if (request.getMaxFinalTemperature() != null) {
+            violation += Math.max(0, temperature - request.getMaxFinalTemperature());
+        }
+        if (request.getMinFinalViscosity() != null) {
+            violation += Math.max(0, request.getMinFinalViscosity() - viscosity) / request.getMinFinalViscosity();
+        }
+        if (request.getMaxFinalViscosity() != null) {
+            violation += Math.max(0, viscosity - request.getMaxFinalViscosity()) / request.getMaxFinalViscosity();
+        }
+        return violation;
+    }
+
+    /**
+     * Сравнение по правилам Деба
+     *
+     * @return true, если точка i популяции a лучше точки j популяции b
+     */
+    private static boolean isBetter(Population a, int i, Population b, int j) {
+        double violationA = a.violation[i];
+        double violationB = b.violation[j];
+        if (violationA == 0 && violationB == 0) {
+            return a.cost[i] < b.cost[j];
+        }
+        return violationA < violationB;
+    }
+
+    private List<OptimizationVariable> validate(OptimizationRequest request) {
+        if (request == null || request.getBase() == null) {
+            throw new IllegalArgumentException("Не задана базовая модель");
+        }
+        List<OptimizationVariable> variables = request.getVariables();
+        if (variables == null || variables.isEmpty()) {
+            throw new IllegalArgumentException("Не заданы варьируемые параметры");
+        }
+        Set<ModelParameter> seen = EnumSet.noneOf(ModelParameter.class);
+        for (OptimizationVariable variable : variables) {
+            if (variable.getParameter() == null) {
+                throw new IllegalArgumentException("Не задан варьируемый параметр");
+            }
+            if (!(variable.getLower() <= variable.getUpper())) {
+                throw new IllegalArgumentException("Некорректные границы параметра " +
+                        variable.getParameter().getFieldName());
+            }
+            if (!seen.add(variable.getParameter())) {
+                throw new IllegalArgumentException("Параметр " + variable.getParameter().getFieldName() +
+                        " указан несколько раз");
+            }
+        }
+        return variables;
+    }
+
+    /**
+     * Популяция в виде колонок: координаты точек и их показатели
+     */
+    private static final class Population {
+        final double[][] points;
+        final double[] productivity;
+        final double[] finalTemperature;
+        final double[] finalViscosity;
+        final double[] cost;
+        final double[] violation;
+
+        Population(int size, int dimension) {
+            points = new double[size][dimension];
+            productivity = new double[size];
+            finalTemperature = new double[size];
+            finalViscosity = new double[size];
+            cost = new double[size];
+            violation = new double[size];
+        }
+
+        void set(int i, double productivity, double temperature, double viscosity, double cost, double violation) {
+            this.productivity[i] = productivity;
+            this.finalTemperature[i] = temperature;
+            this.finalViscosity[i] = viscosity;
+            this.cost[i] = cost;
+            this.violation[i] = violation;
+        }
+
+        void copyFrom(Population other, int i) {
+            System.arraycopy(other.points[i], 0, points[i], 0, points[i].length);
+            set(i, other.productivity[i], other.finalTemperature[i], other.finalViscosity[i],
+                    other.cost[i], other.violation[i]);
+        }
+
+        int best() {
+            int best = 0;
+            for (int i = 1; i < points.length; i++) {
+                if (isBetter(this, i, this, best)) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * @return true, если все точки допустимы и разброс целевой функции пренебрежимо мал
+         */
+        boolean isConverged() {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < points.length; i++) {
+                if (violation[i] != 0) {
+                    return false;
+                }
+                min = Math.min(min, cost[i]);
+                max = Math.max(max, cost[i]);
+            }
+            return max - min <= CONVERGENCE_TOLERANCE * Math.max(1, Math.abs(min));
+        }
+    }
+}
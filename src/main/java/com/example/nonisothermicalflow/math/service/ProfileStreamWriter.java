@@ -0,0 +1,111 @@
+package com.example.nonisothermicalflow.math.service;
+
+import com.example.nonisothermicalflow.math.engine.ProfileSink;
+import com.example.nonisothermicalflow.math.engine.SimulationPlan;
+import com.example.nonisothermicalflow.math.model.ResultModel;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Запись профиля в формате NDJSON (по одному JSON-объекту на строку):
+ * <pre>
+ *   {"type":"header","pointsCount":..,"productivity":..,"finalTemperature":..,"finalViscosity":..}
+ *   {"type":"chunk","offset":..,"positions":[..],"temperatures":[..],"viscosities":[..]}
+ *   ...
+ *   {"type":"summary","calculationTime":..,"operationsCount":..,"memoryUsage":..}
+ * </pre>
+ * Если расчет прерван после начала ответа (например, истек срок выполнения), вместо итоговой строки
+ * записывается {"type":"error","reason":..,"message":..}: статус ответа к этому моменту уже отправлен.
+ * Итоговые показатели вычисляются по плану в конечной точке канала и отправляются
+ * до начала расчета профиля. Каждая порция сбрасывается в поток сразу после вычисления.
+ */
+public class ProfileStreamWriter implements ProfileSink {
+
+    private final JsonGenerator generator;
+
+    public ProfileStreamWriter(JsonGenerator generator) {
+        // Строки разделяются переводом строки, разделитель корневых значений Jackson не нужен
+        this.generator = generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void begin(SimulationPlan plan) {
+        double chi = plan.chiAt(plan.finalPosition());
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", "header");
+            generator.writeNumberField("pointsCount", plan.getPointsCount());
+            generator.writeNumberField("productivity", plan.getProductivity());
+            generator.writeNumberField("finalTemperature", plan.temperatureOf(chi));
+            generator.writeNumberField("finalViscosity", plan.viscosityOf(chi));
+            generator.writeEndObject();
+            endLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void accept(int offset, double[] positions, double[] temperatures, double[] viscosities, int count) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", "chunk");
+            generator.writeNumberField("offset", offset);
+            generator.writeFieldName("positions");
+            generator.writeArray(positions, 0, count);
+            generator.writeFieldName("temperatures");
+            generator.writeArray(temperatures, 0, count);
+            generator.writeFieldName("viscosities");
+            generator.writeArray(viscosities, 0, count);
+            generator.writeEndObject();
+            endLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Записывает завершающую строку со статистикой расчета
+     *
+     * @param summary итоги расчета без профилей
+     */
+    public void finish(ResultModel summary) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", "summary");
+            generator.writeNumberField("calculationTime", summary.getCalculationTime());
+            generator.writeNumberField("operationsCount", summary.getOperationsCount());
+            generator.writeNumberField("memoryUsage", summary.getMemoryUsage());
+            generator.writeEndObject();
+            endLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Записывает завершающую строку о прерывании расчета
+     *
+     * @param reason причина прерывания
+     * @param message описание для клиента
+     */
+    public void abort(String reason, String message) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", "error");
+            generator.writeStringField("reason", reason);
+            generator.writeStringField("message", message);
+            generator.writeEndObject();
+            endLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void endLine() throws IOException {
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.nonisothermicalflow.math.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Контроль допуска синхронных расчетов по стоимости и справедливое разделение бюджета вычислений.
+ * <ul>
+ *   <li>Глобальный бюджет — сумма стоимостей (точек сетки, см. {@link SimulationCostEstimator})
+ *       одновременно выполняемых расчетов.</li>
+ *   <li>Дешевые интерактивные расчеты (до interactive-points) обслуживаются первыми, и для них
+ *       резервируется доля бюджета: тяжелые расчеты занимают не больше budget − reserve,
+ *       поэтому интерактивные запросы не ждут окончания пакетных.</li>
+ *   <li>Один пользователь занимает не больше user-share бюджета; единственный расчет пользователя
+ *       допускается в любом случае, если помещается в бюджет.</li>
+ *   <li>Ожидающие расчеты хранятся в очередях FIFO по пользователям и выбираются по кругу,
+ *       так что поток запросов одного пользователя не вытесняет остальных.</li>
+ * </ul>
+ * Расчет дороже лимита своей очереди отклоняется сразу (413), расчет, не получивший бюджет
+ * за max-wait, — с предложением повторить позже (429) или выполнить его асинхронной задачей
+ * /api/v1/math/jobs, у которой собственная очередь и ограничение simulation.jobs.max-points.
+ */
+@Slf4j
+@Service
+public class SimulationAdmissionService {
+
+    /** Стоимость расчета в точках сетки на одно ядро процессора при автоматическом бюджете */
+    private static final long POINTS_PER_CORE = 5_000_000;
+
+    private final long budget;
+    private final long heavyLimit;
+    private final long userLimit;
+    private final long interactivePoints;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, ArrayDeque<Waiter>> interactiveQueue = new LinkedHashMap<>();
+    private final Map<String, ArrayDeque<Waiter>> heavyQueue = new LinkedHashMap<>();
+    private final Map<String, Long> userUsage = new HashMap<>();
+    private final Timer waitTimer;
+    private long inUse;
+    private int queued;
+
+    public SimulationAdmissionService(MeterRegistry meterRegistry,
+                                      @Value("${simulation.admission.budget-points:0}") long budgetPoints,
+                                      @Value("${simulation.admission.interactive-points:200000}") long interactivePoints,
+                                      @Value("${simulation.admission.interactive-reserve:0.25}") double interactiveReserve,
+                                      @Value("${simulation.admission.user-share:0.5}") double userShare,
+                                      @Value("${simulation.admission.max-queued:1000}") int maxQueued,
+                                      @Value("${simulation.admission.max-wait:2s}") Duration maxWait) {
+        this.budget = budgetPoints > 0 ? budgetPoints : Runtime.getRuntime().availableProcessors() * POINTS_PER_CORE;
+        this.heavyLimit = Math.max(1, (long) (budget * (1 - interactiveReserve)));
+        this.userLimit = Math.max(1, (long) (budget * userShare));
+        this.interactivePoints = interactivePoints;
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.waitTimer = Timer.builder("simulation.admission.wait")
+                .description("Ожидание допуска расчета")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("simulation.admission.in.use", this, SimulationAdmissionService::getInUse)
+                .description("Занятая часть бюджета вычислений")
+                .baseUnit("points")
+                .register(meterRegistry);
+        Gauge.builder("simulation.admission.queued", this, SimulationAdmissionService::getQueued)
+                .description("Расчеты, ожидающие допуска")
+                .register(meterRegistry);
+        Gauge.builder("simulation.admission.budget", this, SimulationAdmissionService::getBudget)
+                .description("Бюджет вычислений")
+                .baseUnit("points")
+                .register(meterRegistry);
+        log.info("Бюджет синхронных расчетов: {} точек, тяжелые расчеты до {}, на пользователя до {}, " +
+                "интерактивные до {} точек", budget, heavyLimit, userLimit, interactivePoints);
+    }
+
+    /**
+     * Допускает расчет или ставит его в очередь пользователя до освобождения бюджета.
+     * Полученный допуск нужно закрыть после окончания расчета (try-with-resources).
+     *
+     * @param user имя пользователя
+     * @param cost оценка стоимости расчета, точек
+     * @return допуск, удерживающий часть бюджета
+     * @throws SimulationRejectedException если расчет слишком велик или бюджет не освободился за max-wait
+     */
+    public Ticket admit(String user, long cost) {
+        boolean interactive = cost <= interactivePoints;
+        long limit = interactive ? budget : heavyLimit;
+        if (cost > limit) {
+            throw new SimulationRejectedException("Стоимость расчета " + cost + " точек превышает допустимую для " +
+                    "синхронного выполнения (" + limit + ")", true, cost, limit, 0);
+        }
+
+        long startTime = System.nanoTime();
+        Waiter waiter = null;
+        lock.lock();
+        try {
+            if (queued >= maxQueued) {
+                throw busy(cost, limit);
+            }
+            waiter = new Waiter(user, Math.max(cost, 0), interactive, lock.newCondition());
+            (interactive ? interactiveQueue : heavyQueue).computeIfAbsent(user, key -> new ArrayDeque<>()).addLast(waiter);
+            queued++;
+            dispatch();
+
+            long remaining = maxWaitNanos;
+            while (!waiter.granted) {
+                if (remaining <= 0) {
+                    withdraw(waiter);
+                    throw busy(cost, limit);
+                }
+                remaining = waiter.condition.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (waiter.granted) {
+                releaseLocked(waiter);
+            } else {
+                withdraw(waiter);
+            }
+            throw busy(cost, limit);
+        } finally {
+            lock.unlock();
+        }
+        waitTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        return new Ticket(waiter);
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    public long getInUse() {
+        lock.lock();
+        try {
+            return inUse;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Допускает ожидающие расчеты, пока бюджет позволяет: сначала интерактивные, затем тяжелые,
+     * в каждой очереди — по одному расчету пользователя по кругу. Вызывается под lock.
+     */
+    private void dispatch() {
+        boolean progress = true;
+        while (progress) {
+            progress = dispatchOne(interactiveQueue) || dispatchOne(heavyQueue);
+        }
+    }
+
+    private boolean dispatchOne(Map<String, ArrayDeque<Waiter>> queue) {
+        Iterator<Map.Entry<String, ArrayDeque<Waiter>>> users = queue.entrySet().iterator();
+        while (users.hasNext()) {
+            Map.Entry<String, ArrayDeque<Waiter>> entry = users.next();
+            ArrayDeque<Waiter> waiters = entry.getValue();
+            Waiter head = waiters.peekFirst();
+            if (!fits(head)) {
+                continue;
+            }
+            waiters.pollFirst();
+            users.remove();
+            if (!waiters.isEmpty()) {
+                // Пользователь переходит в конец круга
+                queue.put(entry.getKey(), waiters);
+            }
+            queued--;
+            inUse += head.cost;
+            userUsage.merge(head.user, head.cost, Long::sum);
+            head.granted = true;
+            head.condition.signal();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean fits(Waiter waiter) {
+        long limit = waiter.interactive ? budget : heavyLimit;
+        if (inUse + waiter.cost > limit) {
+            return false;
+        }
+        long used = userUsage.getOrDefault(waiter.user, 0L);
+        return used == 0 || used + waiter.cost <= userLimit;
+    }
+
+    private void withdraw(Waiter waiter) {
+        Map<String, ArrayDeque<Waiter>> queue = waiter.interactive ? interactiveQueue : heavyQueue;
+        ArrayDeque<Waiter> waiters = queue.get(waiter.user);
+        if (waiters != null && waiters.remove(waiter)) {
+            queued--;
+            if (waiters.isEmpty()) {
+                queue.remove(waiter.user);
+            }
+            // Снятый расчет мог загораживать следующие расчеты пользователя
+            dispatch();
+        }
+    }
+
+    private void release(Waiter waiter) {
+        lock.lock();
+        try {
+            releaseLocked(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseLocked(Waiter waiter) {
+        inUse -= waiter.cost;
+        userUsage.computeIfPresent(waiter.user, (user, used) -> used == waiter.cost ? null : used - waiter.cost);
+        dispatch();
+    }
+
+    private SimulationRejectedException busy(long cost, long limit) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(maxWaitNanos));
+        return new SimulationRejectedException("Сервер расчетов занят, повторите запрос позже " +
+                "или используйте асинхронные задачи /api/v1/math/jobs", false, cost, limit, retryAfter);
+    }
+
+    /**
+     * Допуск расчета; закрытие возвращает стоимость в бюджет и допускает ожидающие расчеты
+     */
+    public final class Ticket implements AutoCloseable {
+
+        private final Waiter waiter;
+        private boolean released;
+
+        private Ticket(Waiter waiter) {
+            this.waiter = waiter;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(waiter);
+            }
+        }
+    }
+
+    private static final class Waiter {
+        final String user;
+        final long cost;
+        final boolean interactive;
+        final Condition condition;
+        boolean granted;
+
+        Waiter(String user, long cost, boolean interactive, Condition condition) {
+            this.user = user;
+            this.cost = cost;
+            this.interactive = interactive;
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.nonisothermicalflow.math.service;
+
+import com.example.nonisothermicalflow.math.engine.CancellationReason;
+import com.example.nonisothermicalflow.math.engine.SimulationCancelledException;
+import com.example.nonisothermicalflow.math.engine.SimulationControl;
+import com.example.nonisothermicalflow.math.model.BatchItemResult;
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.SimulationOptions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Сервис пакетного выполнения расчетов
+ */
+@Service
+@RequiredArgsConstructor
+public class SimulationBatchService {
+
+    private final MathService mathService;
+    private final ForkJoinPool simulationExecutor;
+
+    @Value("${simulation.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    /**
+     * @return максимальное количество вариантов в одном пакетном запросе
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Выполняет расчеты пакета моделей параллельно и передает результаты потребителю
+     * строго в порядке следования моделей в запросе.
+     * Одновременно в работе находится не больше двух вариантов на поток пула,
+     * поэтому готовые, но еще не отданные результаты не накапливаются в памяти.
+     *
+     * @param models варианты параметров
+     * @param options опции расчета, общие для всех вариантов
+     * @param consumer получатель результатов
+     */
+    public void runBatch(List<MathModel> models, SimulationOptions options, Consumer<BatchItemResult> consumer) {
+        runBatch(models, options, new SimulationControl(), consumer);
+    }
+
+    /**
+     * Выполняет пакет с отменой и сроком выполнения. Каждый вариант считается с дочерним
+     * управлением, поэтому прерывание пакета останавливает и уже запущенные варианты.
+     * Если потребитель не может принять результат (клиент закрыл соединение),
+     * пакет прерывается с причиной CLIENT_ABORTED.
+     *
+     * @param models варианты параметров
+     * @param options опции расчета, общие для всех вариантов
+     * @param control отмена и срок выполнения пакета
+     * @param consumer получатель результатов
+     * @throws SimulationCancelledException если пакет прерван
+     */
+    public void runBatch(List<MathModel> models, SimulationOptions options, SimulationControl control,
+                         Consumer<BatchItemResult> consumer) {
+        int window = Math.max(1, simulationExecutor.getParallelism() * 2);
+        Deque<CompletableFuture<BatchItemResult>> inFlight = new ArrayDeque<>(window);
+        int next = 0;
+
+        control.start(models.size());
+        try {
+            while (next < models.size() || !inFlight.isEmpty()) {
+                while (next < models.size() && inFlight.size() < window) {
+                    int index = next++;
+                    MathModel model = models.get(index);
+                    SimulationControl itemControl = control.child();
+                    inFlight.addLast(CompletableFuture.supplyAsync(() -> runItem(index, model, options, itemControl),
+                            simulationExecutor));
+                }
+                BatchItemResult item = await(inFlight.removeFirst());
+                try {
+                    consumer.accept(item);
+                } catch (RuntimeException e) {
+                    control.cancel(CancellationReason.CLIENT_ABORTED);
+                    throw e;
+                }
+                control.advance(1);
+            }
+        } catch (RuntimeException e) {
+            // Запущенные варианты остановятся на ближайшей проверке дочернего управления
+            control.cancel();
+            throw e;
+        }
+    }
+
+    private BatchItemResult runItem(int index, MathModel model, SimulationOptions options, SimulationControl control) {
+        if (model == null || !mathService.validateParameters(model)) {
+            return BatchItemResult.failure(index, "Некорректные параметры модели");
+        }
+        try {
+            return BatchItemResult.success(index, mathService.runSimulation(model, options, control));
+        } catch (SimulationCancelledException e) {
+            throw e;
+        } catch (Exception e) {
+            return BatchItemResult.failure(index, "Ошибка при выполнении расчетов: " + e.getMessage());
+        }
+    }
+
+    private static BatchItemResult await(CompletableFuture<BatchItemResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SimulationCancelledException cancelled) {
+                throw cancelled;
+            }
+            throw new IllegalStateException("Ошибка пакетного расчета: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.nonisothermicalflow.math.service;
+
+import com.example.nonisothermicalflow.math.engine.SimulationCancelledException;
+import com.example.nonisothermicalflow.math.engine.SimulationControl;
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.ResultModel;
+import com.example.nonisothermicalflow.math.model.SimulationCacheStats;
+import com.example.nonisothermicalflow.math.model.SimulationOptions;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограниченный кэш результатов моделирования перед MathService.
+ * Вес результата равен длине профиля, вытеснение выполняется политикой W-TinyLFU (Caffeine).
+ * <p>
+ * Одновременные промахи по одному ключу объединяются (single-flight): первый запрос
+ * регистрирует CompletableFuture через putIfAbsent и выполняет расчет, остальные ждут
+ * его результата и получают тот же экземпляр ResultModel. Расчет выполняется вне блокировок
+ * кэша и карты ожидающих (в отличие от Cache.get с загрузчиком, который держит блокировку
+ * сегмента на время расчета).
+ */
+@Slf4j
+@Service
+public class SimulationCacheService {
+
+    /** Интервал проверки отмены ожидающего запроса, мс */
+    private static final long WAIT_CHECK_INTERVAL_MS = 50;
+
+    private final MathService mathService;
+    private final Cache<SimulationKey, ResultModel> cache;
+    private final long maximumWeight;
+    private final ConcurrentMap<SimulationKey, CompletableFuture<ResultModel>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    public SimulationCacheService(MathService mathService, MeterRegistry meterRegistry,
+                                  @Value("${simulation.cache.max-points:5000000}") long maximumWeight) {
+        this.mathService = mathService;
+        this.maximumWeight = maximumWeight;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((SimulationKey key, ResultModel result) -> result.getPositions().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "simulation.results");
+        FunctionCounter.builder("simulation.coalesced", coalescedCount, AtomicLong::get)
+                .description("Запросы, присоединенные к уже выполняемому расчету")
+                .register(meterRegistry);
+        Gauge.builder("simulation.coalescing.keys", inFlight, ConcurrentMap::size)
+                .description("Ключи, по которым выполняется расчет")
+                .register(meterRegistry);
+        log.info("Кэш результатов моделирования: до {} точек профиля", maximumWeight);
+    }
+
+    /**
+     * @param model модель с входными параметрами
+     * @param options опции расчета
+     * @return true, если результат уже есть в кэше или такой же расчет уже выполняется
+     *         и запрос присоединится к нему, не расходуя вычислений
+     */
+    public boolean isCachedOrInFlight(MathModel model, SimulationOptions options) {
+        SimulationKey key = SimulationKey.of(model, options);
+        // Проверка без учета в статистике: попадание или промах учитывает сам расчет в runSimulation
+        return inFlight.containsKey(key) || cache.policy().getIfPresentQuietly(key) != null;
+    }
+
+    /**
+     * Возвращает результат из кэша или выполняет расчет и сохраняет его
+     *
+     * @param model модель с входными параметрами
+     * @param options опции расчета
+     * @return результаты моделирования
+     */
+    public ResultModel runSimulation(MathModel model, SimulationOptions options) {
+        return runSimulation(model, options, new SimulationControl());
+    }
+
+    /**
+     * Возвращает результат из кэша, присоединяется к уже выполняемому расчету с тем же ключом
+     * или выполняет расчет с отслеживанием прогресса и отменой.
+     * Присоединившийся запрос не получает прогресса расчета, но может быть отменен через control.
+     *
+     * @param model модель с входными параметрами
+     * @param options опции расчета
+     * @param control прогресс и отмена расчета
+     * @return результаты моделирования (экземпляр может разделяться между запросами)
+     */
+    public ResultModel runSimulation(MathModel model, SimulationOptions options, SimulationControl control) {
+        SimulationKey key = SimulationKey.of(model, options);
+        // Попадание или промах учитывается в статистике кэша один раз на запрос
+        ResultModel cached = cache.getIfPresent(key);
+        while (true) {
+            if (cached != null) {
+                return cached;
+            }
+            CompletableFuture<ResultModel> flight = new CompletableFuture<>();
+            CompletableFuture<ResultModel> leader = inFlight.putIfAbsent(key, flight);
+            if (leader == null) {
+                return compute(key, flight, model, options, control);
+            }
+            coalescedCount.incrementAndGet();
+            ResultModel shared = await(leader, control);
+            if (shared != null) {
+                return shared;
+            }
+            // Расчет ведущего запроса отменен: повторяем попытку, возможно уже в роли ведущего
+            cached = cache.policy().getIfPresentQuietly(key);
+        }
+    }
+
+    private ResultModel compute(SimulationKey key, CompletableFuture<ResultModel> flight,
+                                MathModel model, SimulationOptions options, SimulationControl control) {
+        try {
+            // Ведущий запрос мог завершиться между проверкой кэша и регистрацией
+            ResultModel result = cache.policy().getIfPresentQuietly(key);
+            if (result == null) {
+                result = mathService.runSimulation(model, options, control);
+                cache.put(key, result);
+            }
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Ожидает результат ведущего запроса, периодически проверяя отмену ожидающего
+     *
+     * @return результат или null, если расчет ведущего запроса был отменен
+     */
+    private static ResultModel await(CompletableFuture<ResultModel> leader, SimulationControl control) {
+        while (true) {
+            control.checkpoint();
+            try {
+                return leader.get(WAIT_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Продолжаем ожидание
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SimulationCancelledException("Ожидание расчета прервано");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SimulationCancelledException) {
+                    return null;
+                }
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Ошибка при выполнении расчета: " + e.getCause().getMessage(),
+                        e.getCause());
+            }
+        }
+    }
+
+    /**
+     * @return счетчики попаданий, промахов и вытеснений кэша
+     */
+    public SimulationCacheStats getStats() {
+        CacheStats stats = cache.stats();
+        return new SimulationCacheStats(stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.evictionWeight(),
+                cache.estimatedSize(), cache.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L),
+                maximumWeight, stats.hitRate(), coalescedCount.get());
+    }
+
+    /**
+     * Очищает кэш результатов
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
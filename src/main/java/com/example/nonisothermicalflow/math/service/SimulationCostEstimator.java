@@ -0,0 +1,145 @@
+package com.example.nonisothermicalflow.math.service;
+
+import com.example.nonisothermicalflow.math.engine.DormandPrinceIntegrator;
+import com.example.nonisothermicalflow.math.model.MaterialSimulationRequest;
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.OptimizationRequest;
+import com.example.nonisothermicalflow.math.model.SimulationOptions;
+import com.example.nonisothermicalflow.math.model.SweepRange;
+import com.example.nonisothermicalflow.math.model.SweepRequest;
+import com.example.nonisothermicalflow.math.model.UncertaintyRequest;
+
+import java.util.List;
+
+/**
+ * Оценка стоимости расчета до его запуска для контроля допуска.
+ * Стоимость измеряется в точках сетки: время ядра и объем профиля пропорциональны L/Δz + 1.
+ * Прореживание (maxPoints) и потоковый режим уменьшают ответ, но не объем вычислений,
+ * поэтому стоит столько же, сколько полный профиль. Адаптивная выборка ограничена сверху
+ * той же равномерной сеткой (см. AdaptiveSampler). Некорректная сетка (Δz ≤ 0, NaN)
+ * оценивается в Long.MAX_VALUE и отклоняется как слишком большая.
+ * <p>
+ * Расчеты без профиля по сетке Δz оцениваются количеством вычислений замкнутого решения в точке:
+ * узлы перебора, пробные точки оптимизации по всем поколениям, варианты неопределенности на сетке
+ * профиля. Численное решение уравнения энергии оценивается предельным количеством шагов интегратора.
+ * Некорректные запросы оцениваются в 0: их отклоняет валидация сервиса.
+ */
+public final class SimulationCostEstimator {
+
+    /** Стоимость расчета чувствительностей в точке выхода канала (дуальные числа по всем параметрам) */
+    static final long SENSITIVITIES_COST = 64;
+
+    private SimulationCostEstimator() {
+    }
+
+    /**
+     * @param length длина канала L, м
+     * @param step шаг расчета Δz, м
+     * @return количество точек равномерной сетки или Long.MAX_VALUE, если сетка некорректна
+     */
+    public static long gridPoints(double length, double step) {
+        double steps = length / step;
+        if (!(step > 0) || !(steps >= 0) || steps >= Long.MAX_VALUE - 1) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(steps) + 1;
+    }
+
+    /**
+     * @param model модель с параметрами расчета
+     * @param options опции расчета
+     * @return стоимость расчета профиля, точек
+     */
+    public static long estimate(MathModel model, SimulationOptions options) {
+        long cost = gridPoints(model.getLength(), model.getStep());
+        return options != null && options.isSensitivities() ? saturatedAdd(cost, SENSITIVITIES_COST) : cost;
+    }
+
+    /**
+     * @param models варианты пакетного расчета
+     * @param options опции, общие для всех вариантов
+     * @return суммарная стоимость вариантов, точек
+     */
+    public static long estimateBatch(List<MathModel> models, SimulationOptions options) {
+        long cost = 0;
+        for (MathModel model : models) {
+            cost = saturatedAdd(cost, model != null ? estimate(model, options) : 0);
+        }
+        return cost;
+    }
+
+    /**
+     * @param materials количество сравниваемых материалов
+     * @param process общие геометрия, режим процесса и шаг
+     * @param maxPoints ограничение количества точек общей сетки или null
+     * @return стоимость сравнения, точек
+     */
+    public static long estimateComparison(int materials, MaterialSimulationRequest process, Integer maxPoints) {
+        long points = gridPoints(process.getLength(), process.getStep());
+        if (maxPoints != null && maxPoints >= 2) {
+            points = Math.min(points, maxPoints);
+        }
+        return points > Long.MAX_VALUE / Math.max(1, materials) ? Long.MAX_VALUE : points * materials;
+    }
+
+    /**
+     * @param request базовая модель и диапазоны перебора
+     * @return количество узлов декартовой сетки перебора
+     */
+    public static long estimateSweep(SweepRequest request) {
+        if (request == null || request.getRanges() == null || request.getRanges().isEmpty()) {
+            return 0;
+        }
+        long nodes = 1;
+        for (SweepRange range : request.getRanges()) {
+            nodes = saturatedMultiply(nodes, range != null ? range.getCount() : 0);
+        }
+        return nodes;
+    }
+
+    /**
+     * @param request варьируемые параметры, размер популяции и количество поколений
+     * @return предельное количество пробных точек: популяция × (поколения + 1)
+     */
+    public static long estimateOptimization(OptimizationRequest request) {
+        if (request == null) {
+            return 0;
+        }
+        int dimension = request.getVariables() != null ? request.getVariables().size() : 0;
+        int generations = OptimizationService.maxGenerations(request);
+        return saturatedMultiply(OptimizationService.populationSize(request, dimension),
+                generations >= 0 ? generations + 1L : 0);
+    }
+
+    /**
+     * @param request размер выборки и количество точек профиля
+     * @return количество точек профиля по всем вариантам
+     */
+    public static long estimateUncertainty(UncertaintyRequest request) {
+        if (request == null) {
+            return 0;
+        }
+        int gridPoints = request.getGridPoints() != null
+                ? request.getGridPoints() : UncertaintyService.DEFAULT_GRID_POINTS;
+        return saturatedMultiply(request.getSamples(), gridPoints);
+    }
+
+    /**
+     * @return предельное количество шагов численного интегрирования уравнения энергии
+     */
+    public static long estimateOde() {
+        return DormandPrinceIntegrator.MAX_STEPS;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        if (a <= 0 || b <= 0) {
+            return 0;
+        }
+        return a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.nonisothermicalflow.math.service;
+
+import com.example.nonisothermicalflow.math.engine.SimulationCancelledException;
+import com.example.nonisothermicalflow.math.engine.SimulationControl;
+import com.example.nonisothermicalflow.math.model.JobType;
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.SimulationJob;
+import com.example.nonisothermicalflow.math.model.ResultModel;
+import com.example.nonisothermicalflow.math.model.SimulationOptions;
+import com.example.nonisothermicalflow.math.model.SweepRequest;
+import com.example.nonisothermicalflow.math.model.SweepResult;
+import com.example.nonisothermicalflow.math.model.UncertaintyRequest;
+import com.example.nonisothermicalflow.math.model.UncertaintyResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Сервис асинхронных задач моделирования.
+ * Задачи выполняются на отдельном ограниченном пуле потоков, поэтому длительные расчеты
+ * не занимают потоки обработки HTTP-запросов. Очередь ограничена: при переполнении
+ * новая задача отклоняется. Результаты завершенных задач хранятся в памяти в течение
+ * заданного времени и затем удаляются; если суммарный размер хранимых результатов превышает
+ * max-retained-points, раньше срока удаляются задачи, завершившиеся первыми (кроме только что
+ * завершенной). Запрос проверяется при постановке: некорректный запрос, задача с результатом больше
+ * max-retained-points и задача сверх max-queued-per-user незавершенных задач пользователя
+ * отклоняются сразу, а не после ожидания в очереди.
+ */
+@Slf4j
+@Service
+public class SimulationJobService {
+
+    /** Девять профилей UncertaintyResult на точку сетки против трех у ResultModel */
+    private static final long UNCERTAINTY_PROFILES = 3;
+
+    /** Пауза перед повтором, если у пользователя слишком много незавершенных задач, с */
+    private static final long USER_LIMIT_RETRY_AFTER_SECONDS = 10;
+
+    private final SimulationCacheService cacheService;
+    private final SweepService sweepService;
+    private final UncertaintyService uncertaintyService;
+    private final SimulationMetrics metrics;
+    private final ThreadPoolExecutor executor;
+    private final Duration resultTtl;
+    private final long maxPoints;
+    private final long maxRetainedPoints;
+    private final int maxQueuedPerUser;
+    private final Map<UUID, SimulationJob> jobs = new ConcurrentHashMap<>();
+
+    public SimulationJobService(SimulationCacheService cacheService, SweepService sweepService,
+                                UncertaintyService uncertaintyService, SimulationMetrics metrics,
+                                @Value("${simulation.jobs.threads:0}") int threads,
+                                @Value("${simulation.jobs.queue-capacity:100}") int queueCapacity,
+                                @Value("${simulation.jobs.result-ttl:30m}") Duration resultTtl,
+                                @Value("${simulation.jobs.max-points:10000000}") long maxPoints,
+                                @Value("${simulation.jobs.max-retained-points:20000000}") long maxRetainedPoints,
+                                @Value("${simulation.jobs.max-queued-per-user:10}") int maxQueuedPerUser) {
+        this.cacheService = cacheService;
+        this.sweepService = sweepService;
+        this.uncertaintyService = uncertaintyService;
+        this.metrics = metrics;
+        this.resultTtl = resultTtl;
+        this.maxPoints = maxPoints;
+        this.maxRetainedPoints = maxRetainedPoints;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "simulation-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Пул асинхронных задач: {} потоков, очередь {}, хранение результатов {}, " +
+                "до {} точек на задачу и {} точек во всех результатах, до {} задач пользователя",
+                poolSize, queueCapacity, resultTtl, maxPoints, maxRetainedPoints, maxQueuedPerUser);
+    }
+
+    /**
+     * @return максимальное количество точек сетки в задаче расчета профилей
+     */
+    public long getMaxPoints() {
+        return maxPoints;
+    }
+
+    /**
+     * Ставит в очередь расчет профилей для одной модели
+     *
+     * @param model модель с входными параметрами
+     * @param options опции расчета
+     * @param owner имя пользователя
+     * @return созданная задача
+     * @throws IllegalArgumentException если сетка больше max-points
+     * @throws SimulationRejectedException если результат больше max-retained-points
+     *                                     или у пользователя слишком много незавершенных задач
+     * @throws RejectedExecutionException если очередь задач заполнена
+     */
+    public SimulationJob submitSimulation(MathModel model, SimulationOptions options, String owner) {
+        long cost = SimulationCostEstimator.estimate(model, options);
+        if (cost > maxPoints) {
+            throw new IllegalArgumentException("Количество точек сетки превышает допустимое для задачи: " + maxPoints);
+        }
+        // Прореженный профиль хранится в maxPoints точках, полный и адаптивный — не больше чем в сетке
+        Integer profilePoints = options != null ? options.getMaxPoints() : null;
+        long retained = profilePoints != null && profilePoints >= 2 ? Math.min(cost, profilePoints) : cost;
+        return submit(JobType.SIMULATION, owner, retained,
+                control -> cacheService.runSimulation(model, options, control));
+    }
+
+    /**
+     * Ставит в очередь перебор параметров модели
+     *
+     * @param request базовая модель и диапазоны перебора
+     * @param owner имя пользователя
+     * @return созданная задача
+     * @throws IllegalArgumentException если запрос некорректен или узлов больше simulation.sweep.max-points
+     * @throws SimulationRejectedException если результат больше max-retained-points
+     *                                     или у пользователя слишком много незавершенных задач
+     * @throws RejectedExecutionException если очередь задач заполнена
+     */
+    public SimulationJob submitSweep(SweepRequest request, String owner) {
+        long nodes = sweepService.validateRequest(request);
+        return submit(JobType.SWEEP, owner, nodes, control -> sweepService.runSweep(request, control));
+    }
+
+    /**
+     * Ставит в очередь распространение неопределенности параметров
+     *
+     * @param request базовая модель, распределения параметров и размер выборки
+     * @param owner имя пользователя
+     * @return созданная задача
+     * @throws IllegalArgumentException если запрос некорректен или выборка больше simulation.uncertainty.max-samples
+     * @throws SimulationRejectedException если результат больше max-retained-points
+     *                                     или у пользователя слишком много незавершенных задач
+     * @throws RejectedExecutionException если очередь задач заполнена
+     */
+    public SimulationJob submitUncertainty(UncertaintyRequest request, String owner) {
+        int gridPoints = uncertaintyService.validateRequest(request);
+        // Вычислительная стоимость (варианты × точки) ограничена max-samples, хранится только статистика на сетке
+        return submit(JobType.UNCERTAINTY, owner, UNCERTAINTY_PROFILES * gridPoints,
+                control -> uncertaintyService.propagate(request, control));
+    }
+
+    /**
+     * Возвращает задачу пользователя. Чужие и удаленные по истечении срока хранения задачи не видны.
+     *
+     * @param id идентификатор задачи
+     * @param owner имя пользователя
+     * @return задача, если она существует и принадлежит пользователю
+     */
+    public Optional<SimulationJob> findJob(UUID id, String owner) {
+        return Optional.ofNullable(jobs.get(id)).filter(job -> job.getOwner().equals(owner));
+    }
+
+    /**
+     * Удаляет завершенные задачи, срок хранения результатов которых истек
+     */
+    @Scheduled(fixedDelayString = "${simulation.jobs.cleanup-interval:60000}")
+    public void removeExpiredJobs() {
+        Instant expiredBefore = Instant.now().minus(resultTtl);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.getStatus().isFinished() && job.getFinishedAt().isBefore(expiredBefore));
+        int removed = before - jobs.size();
+        if (removed > 0) {
+            log.debug("Удалено задач с истекшим сроком хранения: {}", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(SimulationJob::cancel);
+        executor.shutdownNow();
+    }
+
+    private SimulationJob submit(JobType type, String owner, long retainedPoints,
+                                 Function<SimulationControl, Object> calculation) {
+        if (retainedPoints > maxRetainedPoints) {
+            throw new SimulationRejectedException("Размер результата задачи " + retainedPoints +
+                    " точек превышает допустимый объем хранимых результатов (" + maxRetainedPoints + ")",
+                    true, retainedPoints, maxRetainedPoints, 0);
+        }
+        SimulationJob job = new SimulationJob(type, owner);
+        // Проверка и регистрация задачи атомарны, иначе параллельные запросы пользователя обойдут ограничение
+        synchronized (this) {
+            long queued = jobs.values().stream()
+                    .filter(other -> other.getOwner().equals(owner) && !other.getStatus().isFinished())
+                    .count();
+            if (queued >= maxQueuedPerUser) {
+                throw new SimulationRejectedException("У пользователя уже " + queued +
+                        " незавершенных задач, допустимо " + maxQueuedPerUser, false, queued, maxQueuedPerUser,
+                        USER_LIMIT_RETRY_AFTER_SECONDS);
+            }
+            jobs.put(job.getId(), job);
+        }
+        try {
+            executor.execute(() -> run(job, calculation));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    private void run(SimulationJob job, Function<SimulationControl, Object> calculation) {
+        if (!job.markRunning()) {
+            return;
+        }
+        try {
+            job.markCompleted(calculation.apply(job.getControl()));
+            evictRetainedResults(job);
+        } catch (SimulationCancelledException e) {
+            log.debug("Задача {} отменена", job.getId());
+            metrics.recordFailure("job_cancelled");
+        } catch (Exception e) {
+            log.warn("Ошибка при выполнении задачи {}: {}", job.getId(), e.getMessage());
+            metrics.recordFailure("job_failed");
+            job.markFailed(e.getMessage());
+        } finally {
+            // Error (например, OutOfMemoryError) не перехватывается, но задача не должна остаться RUNNING
+            if (!job.getStatus().isFinished()) {
+                metrics.recordFailure("job_failed");
+                job.markFailed("Внутренняя ошибка при выполнении задачи");
+            }
+        }
+    }
+
+    /**
+     * Удаляет задачи, завершившиеся первыми, пока суммарный размер хранимых результатов
+     * превышает max-retained-points. Только что завершенная задача не удаляется: ее результат
+     * не больше max-retained-points (проверено при постановке), и клиент еще не успел его забрать.
+     *
+     * @param completed задача, завершение которой вызвало проверку
+     */
+    private synchronized void evictRetainedResults(SimulationJob completed) {
+        List<SimulationJob> finished = jobs.values().stream()
+                .filter(job -> job.getStatus().isFinished())
+                .sorted(Comparator.comparing(SimulationJob::getFinishedAt))
+                .toList();
+        long retained = finished.stream().mapToLong(job -> retainedPoints(job.getResult())).sum();
+        Iterator<SimulationJob> oldest = finished.iterator();
+        while (retained > maxRetainedPoints && oldest.hasNext()) {
+            SimulationJob job = oldest.next();
+            long points = retainedPoints(job.getResult());
+            if (points > 0 && job != completed) {
+                jobs.remove(job.getId());
+                retained -= points;
+                log.debug("Задача {} удалена до истечения срока хранения: превышен объем хранимых результатов",
+                        job.getId());
+            }
+        }
+    }
+
+    /**
+     * @return размер результата задачи в точках профиля (узлах перебора)
+     */
+    private static long retainedPoints(Object result) {
+        if (result instanceof ResultModel model) {
+            return model.getPositions() != null ? model.getPositions().length : 0;
+        }
+        if (result instanceof SweepResult sweep) {
+            return sweep.getPointsCount();
+        }
+        if (result instanceof UncertaintyResult uncertainty) {
+            return uncertainty.getPositions() != null ? UNCERTAINTY_PROFILES * uncertainty.getPositions().length : 0;
+        }
+        return 0;
+    }
+}
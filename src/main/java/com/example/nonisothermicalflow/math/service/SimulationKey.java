@@ -0,0 +1,58 @@
+package com.example.nonisothermicalflow.math.service;
+
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.ModelParameter;
+import com.example.nonisothermicalflow.math.model.SimulationOptions;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Канонический ключ расчета: побитовые значения всех полей MathModel и опции расчета.
+ * Модели совпадают по ключу тогда и только тогда, когда совпадают все поля
+ * (Double.doubleToLongBits, поэтому все NaN считаются одинаковыми).
+ */
+public final class SimulationKey {
+
+    private final long[] bits;
+    private final SimulationOptions options;
+    private final int hash;
+
+    private SimulationKey(long[] bits, SimulationOptions options) {
+        this.bits = bits;
+        this.options = options;
+        this.hash = 31 * Arrays.hashCode(bits) + Objects.hashCode(options);
+    }
+
+    /**
+     * Строит ключ по значениям модели на момент вызова
+     *
+     * @param model модель с входными параметрами
+     * @param options опции расчета
+     * @return ключ расчета
+     */
+    public static SimulationKey of(MathModel model, SimulationOptions options) {
+        ModelParameter[] parameters = ModelParameter.values();
+        long[] bits = new long[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            bits[i] = Double.doubleToLongBits(parameters[i].get(model));
+        }
+        return new SimulationKey(bits, options);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SimulationKey other)) {
+            return false;
+        }
+        return hash == other.hash && Arrays.equals(bits, other.bits) && Objects.equals(options, other.options);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
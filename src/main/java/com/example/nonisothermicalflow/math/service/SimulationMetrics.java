@@ -0,0 +1,127 @@
+package com.example.nonisothermicalflow.math.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Метрики расчетов, публикуемые через Micrometer и Actuator (/actuator/metrics, /actuator/prometheus).
+ * <ul>
+ *   <li>simulation.phase — длительность фаз с тегом phase: setup (компиляция плана),
+ *       kernel (проход по сетке), serialization (запись ответа); перцентили и гистограмма</li>
+ *   <li>simulation.grid.points — распределение размера сетки</li>
+ *   <li>simulation.points.computed и simulation.throughput — вычисленные точки и точки в секунду за расчет</li>
+ *   <li>simulation.failures — отказы с тегом cause</li>
+ *   <li>simulation.in.flight — выполняющиеся расчеты</li>
+ * </ul>
+ */
+@Component
+public class SimulationMetrics {
+
+    /** Метрики без публикации для использования MathService вне Spring (бенчмарки, утилиты) */
+    public static final SimulationMetrics NONE = new SimulationMetrics(new CompositeMeterRegistry());
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final Timer setupTimer;
+    private final Timer kernelTimer;
+    private final Timer serializationTimer;
+    private final DistributionSummary gridPoints;
+    private final DistributionSummary throughput;
+    private final Counter computedPoints;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Autowired
+    public SimulationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.setupTimer = phaseTimer("setup");
+        this.kernelTimer = phaseTimer("kernel");
+        this.serializationTimer = phaseTimer("serialization");
+        this.gridPoints = DistributionSummary.builder("simulation.grid.points")
+                .description("Количество точек сетки в расчете")
+                .baseUnit("points")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1e8)
+                .register(registry);
+        this.throughput = DistributionSummary.builder("simulation.throughput")
+                .description("Скорость расчета точек профиля")
+                .baseUnit("points/s")
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+        this.computedPoints = Counter.builder("simulation.points.computed")
+                .description("Вычисленные точки профиля")
+                .baseUnit("points")
+                .register(registry);
+        Gauge.builder("simulation.in.flight", inFlight, AtomicInteger::get)
+                .description("Выполняющиеся расчеты")
+                .register(registry);
+    }
+
+    /**
+     * Учитывает завершенный расчет профиля
+     *
+     * @param setupNanos длительность компиляции плана, нс
+     * @param kernelNanos длительность прохода по сетке, нс
+     * @param points количество вычисленных точек
+     */
+    public void recordRun(long setupNanos, long kernelNanos, long points) {
+        setupTimer.record(setupNanos, TimeUnit.NANOSECONDS);
+        kernelTimer.record(kernelNanos, TimeUnit.NANOSECONDS);
+        gridPoints.record(points);
+        computedPoints.increment(points);
+        if (kernelNanos > 0) {
+            throughput.record(points * 1e9 / kernelNanos);
+        }
+    }
+
+    /**
+     * @param nanos длительность записи ответа, нс
+     */
+    public void recordSerialization(long nanos) {
+        serializationTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Учитывает отказ в выполнении расчета
+     *
+     * @param cause причина отказа (например, bad_request, rejected, cancelled, internal)
+     */
+    public void recordFailure(String cause) {
+        Counter.builder("simulation.failures")
+                .description("Отказы в выполнении расчетов")
+                .tag("cause", cause)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Отмечает начало расчета; вызывающий обязан вызвать {@link #finished()} в finally
+     */
+    public void started() {
+        inFlight.incrementAndGet();
+    }
+
+    public void finished() {
+        inFlight.decrementAndGet();
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("simulation.phase")
+                .description("Длительность фаз расчета")
+                .tag("phase", phase)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.nonisothermicalflow.math.service;
+
+import lombok.Getter;
+
+/**
+ * Отказ в допуске расчета: расчет не помещается в бюджет вычислений (tooLarge)
+ * или бюджет занят дольше допустимого ожидания
+ */
+@Getter
+public class SimulationRejectedException extends RuntimeException {
+
+    private final boolean tooLarge;           // Расчет больше допустимого для синхронного выполнения
+    private final long cost;                  // Оценка стоимости расчета, точек
+    private final long limit;                 // Допустимая стоимость, точек
+    private final long retryAfterSeconds;     // Рекомендуемая пауза перед повтором, с
+
+    public SimulationRejectedException(String message, boolean tooLarge, long cost, long limit,
+                                       long retryAfterSeconds) {
+        super(message);
+        this.tooLarge = tooLarge;
+        this.cost = cost;
+        this.limit = limit;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.nonisothermicalflow.math.service;
+
+import com.example.nonisothermicalflow.math.engine.SimulationCancelledException;
+import com.example.nonisothermicalflow.math.engine.SimulationControl;
+import com.example.nonisothermicalflow.math.engine.SimulationPlan;
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.ModelParameter;
+import com.example.nonisothermicalflow.math.model.SweepRange;
+import com.example.nonisothermicalflow.math.model.SweepRequest;
+import com.example.nonisothermicalflow.math.model.SweepResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Сервис перебора параметров модели по декартовой сетке.
+ * Для каждого узла компилируется план и вычисляется только конечная точка канала,
+ * профили по длине канала не строятся.
+ */
+@Service
+@RequiredArgsConstructor
+public class SweepService {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private final MathService mathService;
+    private final ForkJoinPool simulationExecutor;
+
+    @Value("${simulation.sweep.max-points:2000000}")
+    private long maxPoints;
+
+    /**
+     * Проверяет запрос без выполнения перебора (например, при постановке асинхронной задачи)
+     *
+     * @param request базовая модель и диапазоны перебора
+     * @return количество узлов сетки перебора
+     * @throws IllegalArgumentException если запрос некорректен или узлов больше simulation.sweep.max-points
+     */
+    public long validateRequest(SweepRequest request) {
+        return countPoints(validate(request));
+    }
+
+    /**
+     * Выполняет перебор параметров с отслеживанием прогресса и возможностью отмены
+     *
+     * @param request базовая модель и диапазоны перебора
+     * @param control прогресс (в узлах сетки) и отмена расчета
+     * @return скалярные показатели в каждом узле сетки
+     * @throws IllegalArgumentException если запрос некорректен
+     * @throws SimulationCancelledException если перебор отменен
+     */
+    public SweepResult runSweep(SweepRequest request, SimulationControl control) {
+        long startTime = System.nanoTime();
+
+        List<SweepRange> ranges = validate(request);
+        int pointsCount = (int) countPoints(ranges);
+        control.start(pointsCount);
+
+        double[] productivity = new double[pointsCount];
+        double[] finalTemperature = new double[pointsCount];
+        double[] finalViscosity = new double[pointsCount];
+
+        int chunks = (pointsCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        try {
+            simulationExecutor.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int from = chunk * CHUNK_SIZE;
+                int to = Math.min(pointsCount, from + CHUNK_SIZE);
+                control.checkpoint();
+                evaluateChunk(request.getBase(), ranges, from, to, productivity, finalTemperature, finalViscosity);
+                control.advance(to - from);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Перебор параметров прерван", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SimulationCancelledException cancelled) {
+                throw cancelled;
+            }
+            throw new IllegalStateException("Ошибка при переборе параметров: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        List<ModelParameter> parameters = new ArrayList<>(ranges.size());
+        List<double[]> axes = new ArrayList<>(ranges.size());
+        for (SweepRange range : ranges) {
+            parameters.add(range.getParameter());
+            axes.add(IntStream.range(0, range.getCount()).mapToDouble(range::valueAt).toArray());
+        }
+
+        double calculationTime = (System.nanoTime() - startTime) / 1_000_000.0;
+        return new SweepResult(parameters, axes, pointsCount,
+                productivity, finalTemperature, finalViscosity, calculationTime);
+    }
+
+    /**
+     * Вычисляет узлы сетки [from, to). Каждый вызов работает со своей копией базовой модели.
+     */
+    private void evaluateChunk(MathModel base, List<SweepRange> ranges, int from, int to,
+                               double[] productivity, double[] finalTemperature, double[] finalViscosity) {
+        MathModel model = base.copy();
+        for (int point = from; point < to; point++) {
+            int rest = point;
+            for (int r = ranges.size() - 1; r >= 0; r--) {
+                SweepRange range = ranges.get(r);
+                range.getParameter().set(model, range.valueAt(rest % range.getCount()));
+                rest /= range.getCount();
+            }
+
+            SimulationPlan plan = mathService.validateParameters(model) ? SimulationPlan.compile(model) : null;
+            // Выход канала должен лежать внутри сетки: шаг больше длины канала дает z = 0
+            double outlet = plan != null ? plan.finalPosition() : Double.NaN;
+            if (!(outlet > 0) || !Double.isFinite(outlet)) {
+                productivity[point] = Double.NaN;
+                finalTemperature[point] = Double.NaN;
+                finalViscosity[point] = Double.NaN;
+                continue;
+            }
+
+            double chi = plan.chiAt(outlet);
+            productivity[point] = plan.getProductivity();
+            finalTemperature[point] = plan.temperatureOf(chi);
+            finalViscosity[point] = plan.viscosityOf(chi);
+        }
+    }
+
+    private List<SweepRange> validate(SweepRequest request) {
+        if (request == null || request.getBase() == null) {
+            throw new IllegalArgumentException("Не задана базовая модель");
+        }
+        List<SweepRange> ranges = request.getRanges();
+        if (ranges == null || ranges.isEmpty()) {
+            throw new IllegalArgumentException("Не заданы диапазоны перебора");
+        }
+        Set<ModelParameter> seen = EnumSet.noneOf(ModelParameter.class);
+        for (SweepRange range : ranges) {
+            if (range.getParameter() == null) {
+                throw new IllegalArgumentException("Не задан параметр диапазона перебора");
+            }
+            if (range.getCount() < 1) {
+                throw new IllegalArgumentException("Количество значений параметра " +
+                        range.getParameter().getFieldName() + " должно быть положительным");
+            }
+            if (!seen.add(range.getParameter())) {
+                throw new IllegalArgumentException("Параметр " + range.getParameter().getFieldName() +
+                        " указан в переборе несколько раз");
+            }
+        }
+        if (countPoints(ranges) > maxPoints) {
+            throw new IllegalArgumentException("Количество узлов сетки превышает допустимое: " + maxPoints);
+        }
+        return ranges;
+    }
+
+    private static long countPoints(List<SweepRange> ranges) {
+        long points = 1;
+        for (SweepRange range : ranges) {
+            points = Math.multiplyExact(points, range.getCount());
+        }
+        return points;
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.nonisothermicalflow.math.service;
+
+import com.example.nonisothermicalflow.math.engine.InverseNormal;
+import com.example.nonisothermicalflow.math.engine.ProfileStatistics;
+import com.example.nonisothermicalflow.math.engine.SimulationCancelledException;
+import com.example.nonisothermicalflow.math.engine.SimulationControl;
+import com.example.nonisothermicalflow.math.engine.SimulationPlan;
+import com.example.nonisothermicalflow.math.engine.SobolSequence;
+import com.example.nonisothermicalflow.math.model.DistributionType;
+import com.example.nonisothermicalflow.math.model.MathModel;
+import com.example.nonisothermicalflow.math.model.ModelParameter;
+import com.example.nonisothermicalflow.math.model.SamplingMethod;
+import com.example.nonisothermicalflow.math.model.UncertainParameter;
+import com.example.nonisothermicalflow.math.model.UncertaintyRequest;
+import com.example.nonisothermicalflow.math.model.UncertaintyResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Сервис распространения неопределенности параметров модели методом Монте-Карло
+ * или квази-Монте-Карло (последовательность Соболя).
+ * <p>
+ * Варианты делятся на блоки. Блоки одной волны вычисляются параллельно в пуле simulationExecutor,
+ * затем их профили добавляются в потоковую статистику последовательно в порядке номеров вариантов.
+ * Точки Соболя определяются номером варианта, а генератор каждого блока в режиме RANDOM
+ * получается последовательным split() от генератора с заданным seed, поэтому результат
+ * воспроизводим по seed и не зависит от числа потоков. Память ограничена профилями одной волны
+ * и статистикой на сетке и не зависит от количества вариантов.
+ */
+@Service
+@RequiredArgsConstructor
+public class UncertaintyService {
+
+    static final int DEFAULT_GRID_POINTS = 101;
+    private static final int MAX_GRID_POINTS = 10_001;
+
+    /** Предельное количество значений профиля в одном блоке (T и η отдельно) */
+    private static final int BLOCK_VALUES = 65_536;
+    private static final int MAX_BLOCK_SAMPLES = 256;
+
+    private static final double LOWER_QUANTILE = 0.05;
+    private static final double UPPER_QUANTILE = 0.95;
+
+    private final MathService mathService;
+    private final ForkJoinPool simulationExecutor;
+
+    @Value("${simulation.uncertainty.max-samples:1000000}")
+    private int maxSamples;
+
+    /**
+     * Проверяет запрос без выполнения расчета (например, при постановке асинхронной задачи)
+     *
+     * @param request базовая модель, распределения параметров и размер выборки
+     * @return количество точек профиля
+     * @throws IllegalArgumentException если запрос некорректен или выборка больше simulation.uncertainty.max-samples
+     */
+    public int validateRequest(UncertaintyRequest request) {
+        validate(request);
+        return gridPoints(request);
+    }
+
+    /**
+     * Выполняет распространение неопределенности с отслеживанием прогресса и возможностью отмены
+     *
+     * @param request базовая модель, распределения параметров и размер выборки
+     * @param control прогресс (в вариантах) и отмена расчета
+     * @return статистика профилей T(z) и η(z)
+     * @throws IllegalArgumentException если запрос некорректен
+     * @throws SimulationCancelledException если расчет отменен
+     */
+    public UncertaintyResult propagate(UncertaintyRequest request, SimulationControl control) {
+        long startTime = System.nanoTime();
+
+        List<UncertainParameter> parameters = validate(request);
+        int gridPoints = gridPoints(request);
+        int samples = request.getSamples();
+        long seed = request.getSeed() != null ? request.getSeed() : new SplittableRandom().nextLong();
+        SplittableRandom root = new SplittableRandom(seed);
+        boolean sobol = request.getSampling() != SamplingMethod.RANDOM;
+        int[] shift = new int[parameters.size()];
+        for (int d = 0; d < shift.length; d++) {
+            shift[d] = root.nextInt();
+        }
+
+        double[] positions = new double[gridPoints];
+        double length = request.getBase().getLength();
+        for (int g = 0; g < gridPoints; g++) {
+            positions[g] = g == gridPoints - 1 ? length : length * g / (gridPoints - 1);
+        }
+
+        ProfileStatistics temperatures = new ProfileStatistics(gridPoints, LOWER_QUANTILE, UPPER_QUANTILE);
+        ProfileStatistics viscosities = new ProfileStatistics(gridPoints, LOWER_QUANTILE, UPPER_QUANTILE);
+        ProfileStatistics productivity = new ProfileStatistics(1);
+
+        int blockSize = Math.max(1, Math.min(MAX_BLOCK_SAMPLES, BLOCK_VALUES / gridPoints));
+        int waveSize = Math.max(1, simulationExecutor.getParallelism());
+        Block[] wave = new Block[waveSize];
+        for (int w = 0; w < waveSize; w++) {
+            wave[w] = new Block(blockSize, gridPoints, parameters.size());
+        }
+
+        control.start(samples);
+        for (int waveStart = 0; waveStart < samples; waveStart += blockSize * waveSize) {
+            int blocks = 0;
+            for (int start = waveStart; start < samples && blocks < waveSize; start += blockSize, blocks++) {
+                wave[blocks].prepare(start, Math.min(blockSize, samples - start),
+                        sobol ? null : root.split());
+            }
+            int waveBlocks = blocks;
+            run(() -> IntStream.range(0, waveBlocks).parallel().forEach(b ->
+                    wave[b].evaluate(request.getBase(), parameters, positions, shift)));
+
+            for (int b = 0; b < waveBlocks; b++) {
+                Block block = wave[b];
+                for (int s = 0; s < block.count; s++) {
+                    if (block.valid[s]) {
+                        temperatures.add(block.temperatures, s * gridPoints);
+                        viscosities.add(block.viscosities, s * gridPoints);
+                        productivity.add(block.productivity, s);
+                    }
+                }
+                control.advance(block.count);
+            }
+        }
+
+        double calculationTime = (System.nanoTime() - startTime) / 1_000_000.0;
+        return new UncertaintyResult(positions,
+                temperatures.getMean(), temperatures.getStandardDeviation(),
+                temperatures.getQuantile(0), temperatures.getQuantile(1),
+                viscosities.getMean(), viscosities.getStandardDeviation(),
+                viscosities.getQuantile(0), viscosities.getQuantile(1),
+                productivity.getCount() > 0 ? productivity.getMean()[0] : Double.NaN,
+                productivity.getStandardDeviation()[0],
+                samples, samples - temperatures.getCount(), seed, calculationTime);
+    }
+
+    private void run(Runnable task) {
+        try {
+            simulationExecutor.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Расчет неопределенности прерван", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка при расчете неопределенности: " + e.getCause().getMessage(),
+                    e.getCause());
+        }
+    }
+
+    private static int gridPoints(UncertaintyRequest request) {
+        int gridPoints = request.getGridPoints() != null ? request.getGridPoints() : DEFAULT_GRID_POINTS;
+        if (gridPoints < 2 || gridPoints > MAX_GRID_POINTS) {
+            throw new IllegalArgumentException("Количество точек профиля должно быть от 2 до " + MAX_GRID_POINTS);
+        }
+        return gridPoints;
+    }
+
+    private List<UncertainParameter> validate(UncertaintyRequest request) {
+        if (request == null || request.getBase() == null) {
+            throw new IllegalArgumentException("Не задана базовая модель");
+        }
+        if (request.getSamples() < 1 || request.getSamples() > maxSamples) {
+            throw new IllegalArgumentException("Количество вариантов должно быть от 1 до " + maxSamples);
+        }
+        if (!(request.getBase().getLength() > 0)) {
+            throw new IllegalArgumentException("Длина канала должна быть положительной");
+        }
+        List<UncertainParameter> parameters = request.getParameters();
+        if (parameters == null || parameters.isEmpty()) {
+            throw new IllegalArgumentException("Не заданы параметры с неопределенностью");
+        }
+        Set<ModelParameter> seen = EnumSet.noneOf(ModelParameter.class);
+        for (UncertainParameter parameter : parameters) {
+            if (parameter.getParameter() == null) {
+                throw new IllegalArgumentException("Не задан параметр с неопределенностью");
+            }
+            if (parameter.getParameter() == ModelParameter.LENGTH) {
+                throw new IllegalArgumentException("Длина канала задает сетку профиля и не может быть неопределенной");
+            }
+            if (!seen.add(parameter.getParameter())) {
+                throw new IllegalArgumentException("Параметр " + parameter.getParameter().getFieldName() +
+                        " указан несколько раз");
+            }
+            DistributionType distribution = parameter.getDistribution() != null
+                    ? parameter.getDistribution() : DistributionType.NORMAL;
+            boolean valid = switch (distribution) {
+                case NORMAL -> parameter.getStdDev() >= 0;
+                case LOGNORMAL -> parameter.getStdDev() >= 0 && parameter.getMean() > 0;
+                case UNIFORM -> parameter.getLower() <= parameter.getUpper();
+            };
+            if (!valid) {
+                throw new IllegalArgumentException("Некорректное распределение параметра " +
+                        parameter.getParameter().getFieldName());
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Блок вариантов, вычисляемый одним потоком. Буферы переиспользуются между волнами.
+     */
+    private final class Block {
+        final double[] temperatures;
+        final double[] viscosities;
+        final double[] productivity;
+        final boolean[] valid;
+        final double[] uniform;
+        int start;
+        int count;
+        SplittableRandom random;
+
+        Block(int size, int gridPoints, int dimension) {
+            temperatures = new double[size * gridPoints];
+            viscosities = new double[size * gridPoints];
+            productivity = new double[size];
+            valid = new boolean[size];
+            uniform = new double[dimension];
+        }
+
+        void prepare(int start, int count, SplittableRandom random) {
+            this.start = start;
+            this.count = count;
+            this.random = random;
+        }
+
+        void evaluate(MathModel base, List<UncertainParameter> parameters, double[] positions, int[] shift) {
+            MathModel model = base.copy();
+            SobolSequence sequence = random == null ? new SobolSequence(parameters.size(), shift, start) : null;
+            int gridPoints = positions.length;
+            for (int s = 0; s < count; s++) {
+                if (sequence != null) {
+                    sequence.next(uniform);
+                } else {
+                    for (int d = 0; d < uniform.length; d++) {
+                        uniform[d] = ((random.nextLong() >>> 11) + 0.5) * 0x1.0p-53;
+                    }
+                }
+                for (int d = 0; d < uniform.length; d++) {
+                    UncertainParameter parameter = parameters.get(d);
+                    double u = uniform[d];
+                    parameter.getParameter().set(model, parameter.sample(u, InverseNormal.quantile(u)));
+                }
+                valid[s] = evaluateSample(model, positions, s * gridPoints, s);
+            }
+        }
+
+        private boolean evaluateSample(MathModel model, double[] positions, int offset, int s) {
+            if (!mathService.validateParameters(model)) {
+                return false;
+            }
+            SimulationPlan plan = SimulationPlan.compile(model);
+            productivity[s] = plan.getProductivity();
+            boolean finite = Double.isFinite(productivity[s]);
+            for (int g = 0; g < positions.length; g++) {
+                double chi = plan.chiAt(positions[g]);
+                double temperature = plan.temperatureOf(chi);
+                double viscosity = plan.viscosityOf(chi);
+                temperatures[offset + g] = temperature;
+                viscosities[offset + g] = viscosity;
+                finite &= Double.isFinite(temperature) && Double.isFinite(viscosity);
+            }
+            return finite;
+        }
+    }
+}
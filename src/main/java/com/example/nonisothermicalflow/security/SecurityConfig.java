@@ -97,7 +97,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers("/api/v1/test/**").permitAll()
                 .requestMatchers("/api/v1/public/**").permitAll()
-                .requestMatchers("/actuator/**").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                // Метрики раскрывают нагрузку и внутреннее состояние сервиса: только для администраторов
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/v1/materials/**").permitAll()
                 .requestMatchers("/api/v1/material-properties/**").permitAll()
                 .requestMatchers("/api/v1/material-coefficients/**").permitAll()